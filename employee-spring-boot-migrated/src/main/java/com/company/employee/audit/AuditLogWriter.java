@@ -0,0 +1,108 @@
+package com.company.employee.audit;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * AuditLogWriter - Append-only, size-rotated audit log of newline-delimited records
+ *
+ * A whole batch is written with one channel write and made durable with a single force()
+ * (group commit), so the fsync cost is paid per batch rather than per record. Once the
+ * current file passes the size limit it is renamed with a timestamp and a new one started;
+ * only the newest rotated files are kept. Not thread-safe: used by the relay thread only.
+ */
+public class AuditLogWriter implements Closeable {
+    
+    private static final String CURRENT = "audit.log";
+    private static final String ROTATED_PREFIX = "audit-";
+    private static final DateTimeFormatter ROTATED_SUFFIX = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss-SSS");
+    
+    private final Path directory;
+    private final long maxFileBytes;
+    private final int maxRotatedFiles;
+    
+    private FileChannel channel;
+    private long size;
+    
+    public AuditLogWriter(Path directory, long maxFileBytes, int maxRotatedFiles) throws IOException {
+        this.directory = directory;
+        this.maxFileBytes = maxFileBytes;
+        this.maxRotatedFiles = maxRotatedFiles;
+        Files.createDirectories(directory);
+        open();
+    }
+    
+    // Append the records, one per line, and force them to disk
+    public void append(List<byte[]> records) throws IOException {
+        if (records.isEmpty()) {
+            return;
+        }
+        if (size >= maxFileBytes) {
+            rotate();
+        }
+        int length = 0;
+        for (byte[] record : records) {
+            length += record.length + 1;
+        }
+        ByteBuffer buffer = ByteBuffer.allocate(length);
+        for (byte[] record : records) {
+            buffer.put(record).put((byte) '\n');
+        }
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            size += channel.write(buffer);
+        }
+        channel.force(false);
+    }
+    
+    public Path currentFile() {
+        return directory.resolve(CURRENT);
+    }
+    
+    private void open() throws IOException {
+        channel = FileChannel.open(currentFile(), StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        size = channel.size();
+    }
+    
+    private void rotate() throws IOException {
+        channel.close();
+        Path rotated = directory.resolve(ROTATED_PREFIX + LocalDateTime.now().format(ROTATED_SUFFIX) + ".log");
+        for (int n = 1; Files.exists(rotated); n++) {
+            rotated = directory.resolve(ROTATED_PREFIX + LocalDateTime.now().format(ROTATED_SUFFIX) + "-" + n + ".log");
+        }
+        Files.move(currentFile(), rotated);
+        deleteOldRotatedFiles();
+        open();
+    }
+    
+    private void deleteOldRotatedFiles() throws IOException {
+        List<Path> rotated;
+        try (Stream<Path> files = Files.list(directory)) {
+            rotated = files
+                .filter(file -> {
+                    String name = file.getFileName().toString();
+                    return name.startsWith(ROTATED_PREFIX) && name.endsWith(".log");
+                })
+                .sorted()
+                .collect(Collectors.toList());
+        }
+        for (int i = 0; i < rotated.size() - maxRotatedFiles; i++) {
+            Files.deleteIfExists(rotated.get(i));
+        }
+    }
+    
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+}
@@ -0,0 +1,39 @@
+package com.company.employee.audit;
+
+import com.company.employee.jfr.ApiEvents;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.UncheckedIOException;
+
+/**
+ * AuditOutbox - Records entity changes in the audit_outbox table
+ *
+ * Called from inside the transaction of the write it describes, so a change and its audit
+ * row commit or roll back together; AuditRelay moves committed rows to the audit log.
+ */
+public class AuditOutbox {
+    
+    private static final String INSERT_SQL =
+        "INSERT INTO audit_outbox (entity, entity_id, action, payload) VALUES (?, ?, ?, ?)";
+    
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+    
+    public AuditOutbox(JdbcTemplate jdbcTemplate, ObjectMapper objectMapper) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.objectMapper = objectMapper;
+    }
+    
+    // Record a change; state is the entity after the change, or null for deletes
+    public void record(String entity, Long entityId, String action, Object state) {
+        String payload;
+        try {
+            payload = state != null ? objectMapper.writeValueAsString(state) : null;
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+        ApiEvents.update(jdbcTemplate, "AuditOutbox", INSERT_SQL, entity, entityId, action, payload);
+    }
+}
@@ -0,0 +1,46 @@
+package com.company.employee.config;
+
+import com.company.employee.audit.AuditLogWriter;
+import com.company.employee.audit.AuditOutbox;
+import com.company.employee.audit.AuditRelay;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.nio.file.Paths;
+
+@Configuration
+@ConditionalOnProperty(name = "app.audit.enabled", havingValue = "true")
+public class AuditConfig {
+    
+    // Creates audit_outbox if missing; writes record into it inside their own transaction
+    @Bean
+    public AuditOutbox auditOutbox(DataSource dataSource, JdbcTemplate jdbcTemplate, ObjectMapper objectMapper) {
+        new ResourceDatabasePopulator(new ClassPathResource("schema-audit.sql")).execute(dataSource);
+        return new AuditOutbox(jdbcTemplate, objectMapper);
+    }
+    
+    @Bean
+    public AuditLogWriter auditLogWriter(@Value("${app.audit.directory:./audit}") String directory,
+                                         @Value("${app.audit.max-file-bytes:67108864}") long maxFileBytes,
+                                         @Value("${app.audit.max-files:10}") int maxFiles) throws IOException {
+        return new AuditLogWriter(Paths.get(directory), maxFileBytes, maxFiles);
+    }
+    
+    @Bean
+    public AuditRelay auditRelay(AuditOutbox auditOutbox, JdbcTemplate jdbcTemplate, AuditLogWriter auditLogWriter,
+                                 ObjectMapper objectMapper,
+                                 @Value("${app.audit.batch-size:500}") int batchSize,
+                                 @Value("${app.audit.poll-interval-ms:200}") long pollIntervalMillis) {
+        AuditRelay relay = new AuditRelay(jdbcTemplate, auditLogWriter, objectMapper, batchSize);
+        relay.start(pollIntervalMillis);
+        return relay;
+    }
+}
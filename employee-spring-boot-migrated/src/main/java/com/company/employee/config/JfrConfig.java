@@ -0,0 +1,18 @@
+package com.company.employee.config;
+
+import com.company.employee.jfr.TimedJacksonHttpMessageConverter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+
+@Configuration
+public class JfrConfig {
+    
+    // Replaces Spring Boot's default Jackson converter so response serialization emits JFR events
+    // and reuses cached ObjectWriters
+    @Bean
+    public MappingJackson2HttpMessageConverter mappingJackson2HttpMessageConverter(ObjectMapper objectMapper) {
+        return new TimedJacksonHttpMessageConverter(objectMapper);
+    }
+}
@@ -0,0 +1,22 @@
+package com.company.employee.config;
+
+import com.company.employee.cache.JsonRowCache;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@ConditionalOnProperty(name = "app.routing.enabled", havingValue = "false", matchIfMissing = true)
+public class JsonCacheConfig {
+    
+    // Per-row serialized JSON cache, off unless app.json-cache.enabled=true. Never with routing:
+    // a row read from a lagging replica would be cached as current until the next write
+    @Bean
+    @ConditionalOnProperty(name = "app.json-cache.enabled", havingValue = "true")
+    public JsonRowCache jsonRowCache(ObjectMapper objectMapper,
+                                     @Value("${app.json-cache.max-bytes:67108864}") long maxBytes) {
+        return new JsonRowCache(objectMapper, maxBytes);
+    }
+}
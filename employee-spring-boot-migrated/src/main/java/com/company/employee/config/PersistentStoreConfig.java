@@ -0,0 +1,21 @@
+package com.company.employee.config;
+
+import com.company.employee.storage.PersistentSchemaInitializer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+
+@Configuration
+@ConditionalOnProperty(name = "app.persistent.enabled", havingValue = "true")
+public class PersistentStoreConfig {
+    
+    // Non-destructive replacement for spring.sql.init (set to never in the persistent profile)
+    @Bean
+    public PersistentSchemaInitializer persistentSchemaInitializer(DataSource dataSource,
+                                                                   @Value("${app.persistent.preload:true}") boolean preload) {
+        return new PersistentSchemaInitializer(dataSource, preload);
+    }
+}
@@ -0,0 +1,53 @@
+package com.company.employee.config;
+
+import com.company.employee.cache.JsonRowCache;
+import com.company.employee.service.EmployeeService;
+import com.company.employee.warmup.HotKeyTracker;
+import com.company.employee.warmup.WarmupRunner;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.List;
+
+@Configuration
+@ConditionalOnProperty(name = "app.warmup.enabled", havingValue = "true")
+public class WarmupConfig {
+    
+    @Autowired(required = false)
+    private JsonRowCache jsonRowCache;
+    
+    @Bean
+    public HotKeyTracker hotKeyTracker(@Value("${app.warmup.hot-keys-file:./data/hot-employees.txt}") String file,
+                                       @Value("${app.warmup.hot-keys:1000}") int maxKeys) {
+        return new HotKeyTracker(Paths.get(file), maxKeys);
+    }
+    
+    // Readiness stays REFUSING_TRAFFIC until this runner returns
+    @Bean
+    public WarmupRunner warmupRunner(ApplicationContext context, DataSource dataSource, HotKeyTracker hotKeyTracker,
+                                     EmployeeService employeeService,
+                                     @Value("${app.warmup.paths:/employees?hiredFrom=1900-01-01&limit=100}") List<String> paths,
+                                     @Value("${app.warmup.connections:10}") int connections,
+                                     @Value("${app.warmup.target-p99-ms:25}") long targetP99Ms,
+                                     @Value("${app.warmup.round-requests:200}") int roundRequests,
+                                     @Value("${app.warmup.stable-rounds:3}") int stableRounds,
+                                     @Value("${app.warmup.max-duration-ms:120000}") long maxDurationMs) {
+        return new WarmupRunner(context, dataSource, hotKeyTracker, id -> {
+            // Version read before the lookup, so a write racing the priming cannot be cached stale
+            long version = jsonRowCache != null ? jsonRowCache.version() : 0;
+            employeeService.findEmployeeById(id).ifPresent(employee -> {
+                if (jsonRowCache != null) {
+                    jsonRowCache.serialize(id, employee, version);
+                }
+            });
+        }, "/employees/", paths, connections, Duration.ofMillis(targetP99Ms), roundRequests, stableRounds,
+            Duration.ofMillis(maxDurationMs));
+    }
+}
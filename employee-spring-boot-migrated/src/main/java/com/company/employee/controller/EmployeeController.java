@@ -1,14 +1,28 @@
 package com.company.employee.controller;
 
+import com.company.employee.exception.InvalidRequestException;
+import com.company.employee.exception.ResourceNotFoundException;
+import com.company.employee.exception.Problem;
+import com.company.employee.export.ArrowTableExporter;
+import com.company.employee.cache.JsonRowCache;
+import com.company.employee.idempotency.IdempotencyStore;
 import com.company.employee.model.*;
 import com.company.employee.service.*;
+import com.company.employee.warmup.HotKeyTracker;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.time.LocalDate;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 
 /**
  * Employee Controller
@@ -19,41 +33,139 @@ import java.util.List;
 @Validated
 public class EmployeeController {
     
+    private static final int MAX_PAGE_SIZE = 1000;
+    
     @Autowired(required = false)
     private EmployeeService employeeService;
     
+    @Autowired(required = false)
+    private JsonRowCache jsonRowCache;
+    
+    @Autowired(required = false)
+    private IdempotencyStore idempotencyStore;
+    
+    @Autowired(required = false)
+    private ArrowTableExporter arrowExporter;
+    
+    @Autowired(required = false)
+    private HotKeyTracker hotKeys;
+    
     @GetMapping
-    public ResponseEntity<List<Employee>> getAll() {
+    public ResponseEntity<?> getAll(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate hiredFrom,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate hiredTo,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "100") int limit,
+            @RequestParam(required = false) String fields) {
         if (employeeService != null) {
-            return ResponseEntity.ok(employeeService.getAllEmployees());
+            if (hiredFrom == null && hiredTo == null && cursor == null) {
+                if (fields != null) {
+                    return ResponseEntity.ok(employeeService.getAllEmployees(fields));
+                }
+                if (jsonRowCache != null) {
+                    long version = jsonRowCache.version();
+                    List<Employee> rows = employeeService.getAllEmployees();
+                    return json(jsonRowCache.serializeArray(rows, Employee::getId, version));
+                }
+                return ResponseEntity.ok(employeeService.getAllEmployees());
+            }
+            if (fields != null) {
+                throw new InvalidRequestException("fields cannot be combined with hire date range queries");
+            }
+            
+            int pageSize = Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+            List<Employee> page = employeeService.getEmployeesHiredBetween(
+                hiredFrom, hiredTo, HireDateCursor.parse(cursor), pageSize);
+            
+            // A full page means there may be more rows: hand back the cursor for the next one
+            ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+            if (page.size() == pageSize) {
+                response.header("X-Next-Cursor", HireDateCursor.after(page.get(page.size() - 1)).toString());
+            }
+            return response.body(page);
         }
         return ResponseEntity.ok(List.of());
     }
     
+    // Whole table as an Arrow IPC stream, written batch by batch as rows are read
+    @GetMapping("/export.arrow")
+    public ResponseEntity<StreamingResponseBody> exportArrow() {
+        if (employeeService == null || arrowExporter == null) {
+            throw new ResourceNotFoundException("Arrow export is disabled");
+        }
+        StreamingResponseBody body = out -> employeeService.exportEmployeesArrow(out);
+        return ResponseEntity.ok()
+            .contentType(MediaType.parseMediaType(ArrowTableExporter.MEDIA_TYPE))
+            .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"employees.arrow\"")
+            .body(body);
+    }
+    
     @GetMapping("/{id}")
-    public ResponseEntity<Employee> getById(@PathVariable Long id) {
+    public ResponseEntity<?> getById(@PathVariable Long id, @RequestParam(required = false) String fields) {
         if (employeeService != null) {
-            return ResponseEntity.ok(employeeService.getEmployeeById(id));
+            // Not found is the common case for scanners probing ids, so it is answered without exceptions
+            if (fields != null) {
+                Optional<Map<String, Object>> row = employeeService.findEmployeeById(id, fields);
+                return row.isPresent() ? found(id, row.get()) : notFound(id);
+            }
+            if (jsonRowCache != null) {
+                byte[] cached = jsonRowCache.get(id);
+                if (cached == null) {
+                    long version = jsonRowCache.version();
+                    Optional<Employee> employee = employeeService.findEmployeeById(id);
+                    if (employee.isEmpty()) {
+                        return notFound(id);
+                    }
+                    cached = jsonRowCache.serialize(id, employee.get(), version);
+                }
+                recordHit(id);
+                return json(cached);
+            }
+            Optional<Employee> employee = employeeService.findEmployeeById(id);
+            return employee.isPresent() ? found(id, employee.get()) : notFound(id);
+        }
+        return notFound(id);
+    }
+    
+    private ResponseEntity<Object> found(Long id, Object body) {
+        recordHit(id);
+        return ResponseEntity.ok(body);
+    }
+    
+    // Feeds the hot key list the next start primes during warm-up
+    private void recordHit(Long id) {
+        if (hotKeys != null) {
+            hotKeys.record(id);
         }
-        return ResponseEntity.notFound().build();
     }
     
     @PostMapping
-    public ResponseEntity<Employee> create(@RequestBody Employee entity) {
-        try {
-            if (employeeService != null) {
-                Employee created = employeeService.createEmployee(entity);
-                return new ResponseEntity<>(created, HttpStatus.CREATED);
-            }
-            return new ResponseEntity<>(entity, HttpStatus.CREATED);
-        } catch (Exception e) {
-            // Return the entity with generated ID even if there's an issue
-            return new ResponseEntity<>(entity, HttpStatus.CREATED);
+    public ResponseEntity<Employee> create(@RequestBody Employee entity,
+                                           @RequestHeader(value = IdempotencyStore.HEADER, required = false) String idempotencyKey) {
+        if (idempotencyKey != null && idempotencyStore != null) {
+            return idempotencyStore.execute("POST /employees", idempotencyKey, entity, () -> createOnce(entity));
         }
+        return createOnce(entity);
+    }
+    
+    private ResponseEntity<Employee> createOnce(Employee entity) {
+        if (employeeService != null) {
+            Employee created = employeeService.createEmployee(entity);
+            return new ResponseEntity<>(created, HttpStatus.CREATED);
+        }
+        return new ResponseEntity<>(entity, HttpStatus.CREATED);
     }
     
     @PutMapping("/{id}")
-    public ResponseEntity<Employee> update(@PathVariable Long id, @RequestBody Employee entity) {
+    public ResponseEntity<Employee> update(@PathVariable Long id, @RequestBody Employee entity,
+                                           @RequestHeader(value = IdempotencyStore.HEADER, required = false) String idempotencyKey) {
+        if (idempotencyKey != null && idempotencyStore != null) {
+            return idempotencyStore.execute("PUT /employees/" + id, idempotencyKey, entity, () -> updateOnce(id, entity));
+        }
+        return updateOnce(id, entity);
+    }
+    
+    private ResponseEntity<Employee> updateOnce(Long id, Employee entity) {
         if (employeeService != null) {
             return ResponseEntity.ok(employeeService.updateEmployee(id, entity));
         }
@@ -68,4 +180,13 @@ public class EmployeeController {
         }
         return ResponseEntity.noContent().build();
     }
+    
+    private static ResponseEntity<Problem> notFound(Long id) {
+        return Problem.response(HttpStatus.NOT_FOUND, "Employee not found with id: " + id, "/employees/" + id);
+    }
+    
+    // Write pre-serialized JSON as the response body as-is
+    private static ResponseEntity<byte[]> json(byte[] body) {
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(body);
+    }
 }
\ No newline at end of file
@@ -0,0 +1,89 @@
+package com.company.employee.exception;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.util.StringUtils;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.method.annotation.MethodArgumentTypeMismatchException;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseEntityExceptionHandler;
+
+import javax.servlet.http.HttpServletRequest;
+
+/**
+ * ApiExceptionHandler - Maps exceptions escaping the controllers to problem responses
+ *
+ * Spring MVC's own exceptions (missing parameters, unreadable bodies, 405, 415, ...) keep
+ * the status ResponseEntityExceptionHandler gives them and only get a problem body, as do
+ * ResponseStatusException and exceptions annotated with @ResponseStatus.
+ */
+@RestControllerAdvice
+public class ApiExceptionHandler extends ResponseEntityExceptionHandler {
+    
+    private static final Logger logger = LoggerFactory.getLogger(ApiExceptionHandler.class);
+    
+    @ExceptionHandler(ResourceNotFoundException.class)
+    public ResponseEntity<Problem> notFound(ResourceNotFoundException e, HttpServletRequest request) {
+        return Problem.response(HttpStatus.NOT_FOUND, e.getMessage(), request.getRequestURI());
+    }
+    
+    @ExceptionHandler(InvalidRequestException.class)
+    public ResponseEntity<Problem> invalidRequest(InvalidRequestException e, HttpServletRequest request) {
+        return Problem.response(HttpStatus.BAD_REQUEST, e.getMessage(), request.getRequestURI());
+    }
+    
+    @ExceptionHandler(IdempotencyConflictException.class)
+    public ResponseEntity<Problem> idempotencyConflict(IdempotencyConflictException e, HttpServletRequest request) {
+        return Problem.response(HttpStatus.CONFLICT, e.getMessage(), request.getRequestURI());
+    }
+    
+    @ExceptionHandler(UnsupportedOperationException.class)
+    public ResponseEntity<Problem> notImplemented(UnsupportedOperationException e, HttpServletRequest request) {
+        return Problem.response(HttpStatus.NOT_IMPLEMENTED, e.getMessage(), request.getRequestURI());
+    }
+    
+    @ExceptionHandler(ResponseStatusException.class)
+    public ResponseEntity<Problem> responseStatus(ResponseStatusException e, HttpServletRequest request) {
+        return ResponseEntity.status(e.getStatus())
+            .headers(e.getResponseHeaders())
+            .contentType(Problem.MEDIA_TYPE)
+            .body(new Problem(e.getStatus(), e.getReason(), request.getRequestURI()));
+    }
+    
+    // Catch-all; exceptions declaring their status with @ResponseStatus keep it, the rest are 500s
+    @ExceptionHandler(Exception.class)
+    public ResponseEntity<Problem> unexpected(Exception e, HttpServletRequest request) {
+        ResponseStatus declared = AnnotatedElementUtils.findMergedAnnotation(e.getClass(), ResponseStatus.class);
+        if (declared != null) {
+            String detail = StringUtils.hasText(declared.reason()) ? declared.reason() : e.getMessage();
+            return Problem.response(declared.code(), detail, request.getRequestURI());
+        }
+        logger.error("Unhandled error on {} {}", request.getMethod(), request.getRequestURI(), e);
+        return Problem.response(HttpStatus.INTERNAL_SERVER_ERROR, "Unexpected error", request.getRequestURI());
+    }
+    
+    // Every exception the base class handles ends up here; keep its status and headers (e.g. Allow)
+    @Override
+    protected ResponseEntity<Object> handleExceptionInternal(Exception e, Object body, HttpHeaders headers,
+                                                             HttpStatus status, WebRequest request) {
+        String detail = e instanceof MethodArgumentTypeMismatchException
+            ? "Invalid value for " + ((MethodArgumentTypeMismatchException) e).getName()
+            : e instanceof HttpMessageNotReadableException ? "Malformed request body" : e.getMessage();
+        String instance = request instanceof ServletWebRequest
+            ? ((ServletWebRequest) request).getRequest().getRequestURI() : null;
+        
+        HttpHeaders problemHeaders = new HttpHeaders();
+        problemHeaders.addAll(headers);
+        problemHeaders.setContentType(Problem.MEDIA_TYPE);
+        return super.handleExceptionInternal(e, new Problem(status, detail, instance), problemHeaders, status, request);
+    }
+}
@@ -6,6 +6,7 @@ import org.springframework.web.bind.annotation.ResponseStatus;
 @ResponseStatus(HttpStatus.NOT_FOUND)
 public class ResourceNotFoundException extends RuntimeException {
     public ResourceNotFoundException(String message) {
-        super(message);
+        // No stack trace or suppression: these are expected outcomes mapped to a status, not bugs
+        super(message, null, false, false);
     }
 }
\ No newline at end of file
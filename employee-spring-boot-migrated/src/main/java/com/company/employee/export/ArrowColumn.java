@@ -0,0 +1,142 @@
+package com.company.employee.export;
+
+import org.apache.arrow.vector.BigIntVector;
+import org.apache.arrow.vector.BitVector;
+import org.apache.arrow.vector.DateDayVector;
+import org.apache.arrow.vector.DecimalVector;
+import org.apache.arrow.vector.FieldVector;
+import org.apache.arrow.vector.IntVector;
+import org.apache.arrow.vector.TimeStampMicroVector;
+import org.apache.arrow.vector.VarCharVector;
+import org.apache.arrow.vector.types.DateUnit;
+import org.apache.arrow.vector.types.TimeUnit;
+import org.apache.arrow.vector.types.pojo.ArrowType;
+import org.apache.arrow.vector.types.pojo.Field;
+import org.apache.arrow.vector.types.pojo.FieldType;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.charset.StandardCharsets;
+import java.sql.Date;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+/**
+ * ArrowColumn - A table column exported as a nullable Arrow field
+ *
+ * Each column knows its SQL name, its Arrow field and how to copy the current ResultSet row
+ * into its vector; values are read by position, in the order the columns are selected.
+ */
+public final class ArrowColumn {
+
+    @FunctionalInterface
+    interface ValueWriter {
+        void write(FieldVector vector, int row, ResultSet rs, int index) throws SQLException;
+    }
+
+    private final String column;
+    private final Field field;
+    private final ValueWriter writer;
+
+    private ArrowColumn(String column, String name, ArrowType type, ValueWriter writer) {
+        this.column = column;
+        this.field = new Field(name, FieldType.nullable(type), null);
+        this.writer = writer;
+    }
+
+    public String column() {
+        return column;
+    }
+
+    public Field field() {
+        return field;
+    }
+
+    void write(FieldVector vector, int row, ResultSet rs, int index) throws SQLException {
+        writer.write(vector, row, rs, index);
+    }
+
+    public static ArrowColumn int64(String column, String name) {
+        return new ArrowColumn(column, name, new ArrowType.Int(64, true), (vector, row, rs, index) -> {
+            long value = rs.getLong(index);
+            if (rs.wasNull()) {
+                ((BigIntVector) vector).setNull(row);
+            } else {
+                ((BigIntVector) vector).setSafe(row, value);
+            }
+        });
+    }
+
+    public static ArrowColumn int32(String column, String name) {
+        return new ArrowColumn(column, name, new ArrowType.Int(32, true), (vector, row, rs, index) -> {
+            int value = rs.getInt(index);
+            if (rs.wasNull()) {
+                ((IntVector) vector).setNull(row);
+            } else {
+                ((IntVector) vector).setSafe(row, value);
+            }
+        });
+    }
+
+    public static ArrowColumn bool(String column, String name) {
+        return new ArrowColumn(column, name, ArrowType.Bool.INSTANCE, (vector, row, rs, index) -> {
+            boolean value = rs.getBoolean(index);
+            if (rs.wasNull()) {
+                ((BitVector) vector).setNull(row);
+            } else {
+                ((BitVector) vector).setSafe(row, value ? 1 : 0);
+            }
+        });
+    }
+
+    public static ArrowColumn utf8(String column, String name) {
+        return new ArrowColumn(column, name, ArrowType.Utf8.INSTANCE, (vector, row, rs, index) -> {
+            String value = rs.getString(index);
+            if (value == null) {
+                ((VarCharVector) vector).setNull(row);
+            } else {
+                ((VarCharVector) vector).setSafe(row, value.getBytes(StandardCharsets.UTF_8));
+            }
+        });
+    }
+
+    public static ArrowColumn decimal(String column, String name, int precision, int scale) {
+        return new ArrowColumn(column, name, new ArrowType.Decimal(precision, scale, 128), (vector, row, rs, index) -> {
+            BigDecimal value = rs.getBigDecimal(index);
+            if (value == null) {
+                ((DecimalVector) vector).setNull(row);
+            } else {
+                ((DecimalVector) vector).setSafe(row, value.setScale(scale, RoundingMode.HALF_UP));
+            }
+        });
+    }
+
+    // Days since the epoch
+    public static ArrowColumn date(String column, String name) {
+        return new ArrowColumn(column, name, new ArrowType.Date(DateUnit.DAY), (vector, row, rs, index) -> {
+            Date value = rs.getDate(index);
+            if (value == null) {
+                ((DateDayVector) vector).setNull(row);
+            } else {
+                ((DateDayVector) vector).setSafe(row, (int) value.toLocalDate().toEpochDay());
+            }
+        });
+    }
+
+    // Microseconds since the epoch of the stored local date-time, without a time zone
+    public static ArrowColumn timestamp(String column, String name) {
+        return new ArrowColumn(column, name, new ArrowType.Timestamp(TimeUnit.MICROSECOND, null), (vector, row, rs, index) -> {
+            Timestamp value = rs.getTimestamp(index);
+            if (value == null) {
+                ((TimeStampMicroVector) vector).setNull(row);
+            } else {
+                LocalDateTime local = value.toLocalDateTime();
+                long micros = local.toEpochSecond(ZoneOffset.UTC) * 1_000_000L + local.getNano() / 1_000;
+                ((TimeStampMicroVector) vector).setSafe(row, micros);
+            }
+        });
+    }
+}
@@ -0,0 +1,95 @@
+package com.company.employee.jfr;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.util.List;
+
+/**
+ * ApiEvents - JdbcTemplate calls instrumented with QueryEvent
+ *
+ * When no recording has the query event enabled these are plain JdbcTemplate calls;
+ * otherwise the row mapper is wrapped to accumulate mapping time so the event can
+ * split the call into JDBC and mapping phases.
+ */
+public final class ApiEvents {
+
+    private ApiEvents() {
+    }
+
+    public static <T> List<T> query(JdbcTemplate jdbcTemplate, String entity, String sql, RowMapper<T> rowMapper, Object... args) {
+        QueryEvent event = new QueryEvent();
+        if (!event.isEnabled()) {
+            return jdbcTemplate.query(sql, rowMapper, args);
+        }
+
+        TimedRowMapper<T> timedMapper = new TimedRowMapper<>(rowMapper);
+        long started = System.nanoTime();
+        event.begin();
+        List<T> rows = jdbcTemplate.query(sql, timedMapper, args);
+        event.end();
+        if (event.shouldCommit()) {
+            event.route = currentRoute();
+            event.entity = entity;
+            event.rowCount = rows.size();
+            event.mappingTime = timedMapper.nanos;
+            event.jdbcTime = System.nanoTime() - started - timedMapper.nanos;
+            event.commit();
+        }
+        return rows;
+    }
+
+    public static int update(JdbcTemplate jdbcTemplate, String entity, String sql, Object... args) {
+        QueryEvent event = new QueryEvent();
+        if (!event.isEnabled()) {
+            return jdbcTemplate.update(sql, args);
+        }
+
+        long started = System.nanoTime();
+        event.begin();
+        int updated = jdbcTemplate.update(sql, args);
+        event.end();
+        if (event.shouldCommit()) {
+            event.route = currentRoute();
+            event.entity = entity;
+            event.rowCount = updated;
+            event.jdbcTime = System.nanoTime() - started;
+            event.commit();
+        }
+        return updated;
+    }
+
+    // "GET /employees/{id}" for the request on this thread, or "" outside a request
+    static String currentRoute() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (!(attributes instanceof ServletRequestAttributes)) {
+            return "";
+        }
+        javax.servlet.http.HttpServletRequest request = ((ServletRequestAttributes) attributes).getRequest();
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        return request.getMethod() + " " + (pattern != null ? pattern : request.getRequestURI());
+    }
+
+    private static final class TimedRowMapper<T> implements RowMapper<T> {
+        private final RowMapper<T> delegate;
+        private long nanos;
+
+        TimedRowMapper(RowMapper<T> delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public T mapRow(java.sql.ResultSet rs, int rowNum) throws java.sql.SQLException {
+            long started = System.nanoTime();
+            try {
+                return delegate.mapRow(rs, rowNum);
+            } finally {
+                nanos += System.nanoTime() - started;
+            }
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package com.company.employee.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * One JdbcTemplate call; the duration is split into JDBC time and row mapping time.
+ */
+@Name("com.company.api.Query")
+@Label("API Query")
+@Category({"Company API", "Query"})
+@Description("JdbcTemplate call issued by a service, including mapping of the returned rows")
+@StackTrace(false)
+public class QueryEvent extends jdk.jfr.Event {
+
+    @Label("Route")
+    public String route;
+
+    @Label("Entity")
+    public String entity;
+
+    @Label("Row Count")
+    public long rowCount;
+
+    @Label("JDBC Time")
+    @Timespan(Timespan.NANOSECONDS)
+    public long jdbcTime;
+
+    @Label("Mapping Time")
+    @Timespan(Timespan.NANOSECONDS)
+    public long mappingTime;
+}
@@ -0,0 +1,24 @@
+package com.company.employee.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Whole HTTP request as seen by the servlet filter chain.
+ */
+@Name("com.company.api.Request")
+@Label("API Request")
+@Category({"Company API", "Request"})
+@Description("HTTP request from the first servlet filter until the response is complete")
+@StackTrace(false)
+public class RequestEvent extends jdk.jfr.Event {
+
+    @Label("Route")
+    public String route;
+
+    @Label("Status")
+    public int status;
+}
@@ -0,0 +1,74 @@
+package com.company.employee.json;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.exc.InvalidDefinitionException;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.converter.HttpMessageConversionException;
+import org.springframework.http.converter.HttpMessageNotWritableException;
+import org.springframework.http.converter.json.MappingJacksonValue;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.util.StreamUtils;
+import org.springframework.util.TypeUtils;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * CachedWriterJacksonHttpMessageConverter - Jackson converter that reuses one ObjectWriter per type
+ *
+ * The default converter builds a new ObjectWriter for every response and resolves its root
+ * serializer again. Here writers are created once per declared container type (List<Employee>)
+ * or runtime class and keep their prefetched serializer; the value is written through a UTF-8
+ * generator straight onto the response stream. Responses using JSON views, filters or another
+ * encoding take the default path.
+ */
+public class CachedWriterJacksonHttpMessageConverter extends MappingJackson2HttpMessageConverter {
+
+    private final ConcurrentMap<Type, Optional<ObjectWriter>> containerWriters = new ConcurrentHashMap<>();
+    private final ConcurrentMap<Class<?>, ObjectWriter> classWriters = new ConcurrentHashMap<>();
+
+    public CachedWriterJacksonHttpMessageConverter(ObjectMapper objectMapper) {
+        super(objectMapper);
+    }
+
+    @Override
+    protected void writeInternal(Object object, Type type, HttpOutputMessage outputMessage)
+            throws IOException, HttpMessageNotWritableException {
+        JsonEncoding encoding = getJsonEncoding(outputMessage.getHeaders().getContentType());
+        if (object instanceof MappingJacksonValue || encoding != JsonEncoding.UTF8) {
+            super.writeInternal(object, type, outputMessage);
+            return;
+        }
+
+        try (JsonGenerator generator = getObjectMapper().getFactory()
+                .createGenerator(StreamUtils.nonClosing(outputMessage.getBody()), encoding)) {
+            writerFor(object, type).writeValue(generator, object);
+        } catch (InvalidDefinitionException e) {
+            throw new HttpMessageConversionException("Type definition error: " + e.getType(), e);
+        } catch (JsonProcessingException e) {
+            throw new HttpMessageNotWritableException("Could not write JSON: " + e.getOriginalMessage(), e);
+        }
+    }
+
+    // Same type resolution as the default converter: the declared type only for containers
+    private ObjectWriter writerFor(Object object, Type type) {
+        if (type != null && TypeUtils.isAssignable(type, object.getClass())) {
+            Optional<ObjectWriter> writer = containerWriters.computeIfAbsent(type, declared -> {
+                JavaType javaType = getJavaType(declared, null);
+                return javaType.isContainerType() ? Optional.of(getObjectMapper().writerFor(javaType)) : Optional.empty();
+            });
+            if (writer.isPresent()) {
+                return writer.get();
+            }
+        }
+        return classWriters.computeIfAbsent(object.getClass(), runtimeClass -> getObjectMapper().writerFor(runtimeClass));
+    }
+}
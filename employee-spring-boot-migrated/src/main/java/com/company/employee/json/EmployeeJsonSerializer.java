@@ -0,0 +1,42 @@
+package com.company.employee.json;
+
+import com.company.employee.model.Employee;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+import java.io.IOException;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * EmployeeJsonSerializer - Hand-written Employee serializer with no per-property dispatch
+ *
+ * Produces the same document as the default bean serializer with Spring Boot's JavaTimeModule
+ * setup (same property order, nulls written, ISO dates); a new Employee field must be added
+ * here as well.
+ */
+public class EmployeeJsonSerializer extends StdSerializer<Employee> {
+
+    public EmployeeJsonSerializer() {
+        super(Employee.class);
+    }
+
+    @Override
+    public void serialize(Employee employee, JsonGenerator generator, SerializerProvider provider) throws IOException {
+        generator.writeStartObject(employee);
+        if (employee.getId() != null) {
+            generator.writeNumberField("id", employee.getId());
+        } else {
+            generator.writeNullField("id");
+        }
+        generator.writeStringField("firstName", employee.getFirstName());
+        generator.writeStringField("lastName", employee.getLastName());
+        generator.writeStringField("email", employee.getEmail());
+        generator.writeStringField("departmentId", employee.getDepartmentId());
+        generator.writeStringField("hireDate",
+            employee.getHireDate() != null ? DateTimeFormatter.ISO_LOCAL_DATE.format(employee.getHireDate()) : null);
+        generator.writeStringField("createdDate",
+            employee.getCreatedDate() != null ? DateTimeFormatter.ISO_LOCAL_DATE_TIME.format(employee.getCreatedDate()) : null);
+        generator.writeEndObject();
+    }
+}
@@ -11,7 +11,9 @@ public class Employee {
     private String lastName;    
     private String email;    
     private String departmentId;    
-    private String hireDate;
+    private LocalDate hireDate;    
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    private LocalDateTime createdDate;
 
     // Getters and Setters    
     public Long getId() {
@@ -49,11 +51,18 @@ public class Employee {
     public void setDepartmentId(String departmentId) {
         this.departmentId = departmentId;
     }    
-    public String getHireDate() {
+    public LocalDate getHireDate() {
         return hireDate;
     }
     
-    public void setHireDate(String hireDate) {
+    public void setHireDate(LocalDate hireDate) {
         this.hireDate = hireDate;
+    }    
+    public LocalDateTime getCreatedDate() {
+        return createdDate;
+    }
+    
+    public void setCreatedDate(LocalDateTime createdDate) {
+        this.createdDate = createdDate;
     }
 }
\ No newline at end of file
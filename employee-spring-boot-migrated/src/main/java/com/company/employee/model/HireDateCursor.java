@@ -0,0 +1,55 @@
+package com.company.employee.model;
+
+import com.company.employee.exception.InvalidRequestException;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+
+/**
+ * Keyset cursor for hire date range pages: the (hireDate, id) of the last row returned.
+ * Encoded as "yyyy-MM-dd_id", e.g. "2023-02-20_2".
+ */
+public class HireDateCursor {
+    private final LocalDate hireDate;
+    private final long id;
+
+    public HireDateCursor(LocalDate hireDate, long id) {
+        this.hireDate = hireDate;
+        this.id = id;
+    }
+
+    // Cursor that continues after the given row
+    public static HireDateCursor after(Employee employee) {
+        return new HireDateCursor(employee.getHireDate(), employee.getId());
+    }
+
+    // Parse a cursor from a query parameter; null or blank means "first page"
+    public static HireDateCursor parse(String value) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        int separator = value.indexOf('_');
+        try {
+            if (separator < 0) {
+                throw new IllegalArgumentException("missing separator");
+            }
+            return new HireDateCursor(LocalDate.parse(value.substring(0, separator)),
+                Long.parseLong(value.substring(separator + 1)));
+        } catch (DateTimeParseException | IllegalArgumentException e) {
+            throw new InvalidRequestException("Invalid cursor: " + value);
+        }
+    }
+
+    public LocalDate getHireDate() {
+        return hireDate;
+    }
+
+    public long getId() {
+        return id;
+    }
+
+    @Override
+    public String toString() {
+        return hireDate + "_" + id;
+    }
+}
@@ -1,22 +1,35 @@
 package com.company.employee.service;
 
 import com.company.employee.model.Employee;
+import com.company.employee.model.HireDateCursor;
+import com.company.employee.audit.AuditOutbox;
+import com.company.employee.cache.JsonRowCache;
 import com.company.employee.exception.*;
+import com.company.employee.export.ArrowColumn;
+import com.company.employee.export.ArrowTableExporter;
+import com.company.employee.jfr.ApiEvents;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.dao.EmptyResultDataAccessException;
 import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.jdbc.core.RowMapper;
 import org.springframework.jdbc.support.GeneratedKeyHolder;
 import org.springframework.jdbc.support.KeyHolder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.sql.PreparedStatement;
 import java.sql.Statement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -31,6 +44,39 @@ public class EmployeeService {
     @Autowired
     private JdbcTemplate jdbcTemplate;
     
+    @Autowired(required = false)
+    private JsonRowCache jsonRowCache;
+    
+    @Autowired(required = false)
+    private AuditOutbox auditOutbox;
+    
+    @Autowired(required = false)
+    private ArrowTableExporter arrowExporter;
+    
+    // Columns of the Arrow export, named like the JSON properties
+    private static final List<ArrowColumn> EXPORT_COLUMNS = List.of(
+        ArrowColumn.int64("id", "id"),
+        ArrowColumn.utf8("first_name", "firstName"),
+        ArrowColumn.utf8("last_name", "lastName"),
+        ArrowColumn.utf8("email", "email"),
+        ArrowColumn.utf8("department_id", "departmentId"),
+        ArrowColumn.date("hire_date", "hireDate"),
+        ArrowColumn.timestamp("created_date", "createdDate"));
+    
+    // Fields that may be requested through ?fields=, mapped to their columns
+    private static final Map<String, String> PROJECTABLE_COLUMNS;
+    static {
+        Map<String, String> columns = new java.util.LinkedHashMap<>();
+        columns.put("id", "id");
+        columns.put("firstName", "first_name");
+        columns.put("lastName", "last_name");
+        columns.put("email", "email");
+        columns.put("departmentId", "department_id");
+        columns.put("hireDate", "hire_date");
+        columns.put("createdDate", "created_date");
+        PROJECTABLE_COLUMNS = Collections.unmodifiableMap(columns);
+    }
+    
     // Row mapper for Employee
     private final RowMapper<Employee> employeeRowMapper = (rs, rowNum) -> {
         Employee entity = new Employee();
@@ -86,23 +132,85 @@ public class EmployeeService {
     // Get all s
     public List<Employee> getAllEmployees() {
         String sql = "SELECT * FROM employees";
-        return jdbcTemplate.query(sql, employeeRowMapper);
+        return ApiEvents.query(jdbcTemplate, "Employee", sql, employeeRowMapper);
+    }
+    
+    // Get all Employees restricted to the requested fields
+    public List<Map<String, Object>> getAllEmployees(String fields) {
+        FieldProjection projection = FieldProjection.parse(fields, PROJECTABLE_COLUMNS);
+        if (projection == null) {
+            throw new InvalidRequestException("fields must name at least one field");
+        }
+        String sql = "SELECT " + projection.selectList() + " FROM employees";
+        return ApiEvents.query(jdbcTemplate, "Employee", sql, projection.rowMapper());
     }    
+    // Get s hired within [from, to], ordered by (hire_date, id) and paged with a keyset cursor
+    public List<Employee> getEmployeesHiredBetween(LocalDate from, LocalDate to, HireDateCursor cursor, int limit) {
+        StringBuilder sql = new StringBuilder("SELECT * FROM employees WHERE hire_date IS NOT NULL");
+        java.util.List<Object> parameters = new java.util.ArrayList<>();
+        
+        if (from != null) {
+            sql.append(" AND hire_date >= ?");
+            parameters.add(from);
+        }
+        if (to != null) {
+            sql.append(" AND hire_date <= ?");
+            parameters.add(to);
+        }
+        if (cursor != null) {
+            // Seek past the last row of the previous page; the leading bound keeps this an index range scan
+            sql.append(" AND hire_date >= ? AND (hire_date > ? OR id > ?)");
+            parameters.add(cursor.getHireDate());
+            parameters.add(cursor.getHireDate());
+            parameters.add(cursor.getId());
+        }
+        sql.append(" ORDER BY hire_date, id LIMIT ?");
+        parameters.add(limit);
+        
+        return ApiEvents.query(jdbcTemplate, "Employee", sql.toString(), employeeRowMapper, parameters.toArray());
+    }    
+    // Stream every Employee as Arrow IPC record batches
+    public long exportEmployeesArrow(OutputStream out) throws IOException {
+        return arrowExporter.export(List.of(jdbcTemplate), "employees", EXPORT_COLUMNS, out);
+    }
+    
     // Create new Employee
     public Employee createEmployee(Employee entity) {
         // TODO: Implement based on your schema
         throw new UnsupportedOperationException("Create operation not implemented in Mule flows");
     }    
+    // Find Employee by ID; a missing employee is an empty result, not an exception
+    public Optional<Employee> findEmployeeById(Long id) {
+        String sql = "SELECT * FROM employees WHERE id = ?";
+        return first(ApiEvents.query(jdbcTemplate, "Employee", sql, employeeRowMapper, id));
+    }
+    
     // Get Employee by ID
     public Employee getEmployeeById(Long id) {
-        String sql = "SELECT * FROM employees WHERE id = ?";
-        try {
-            return jdbcTemplate.queryForObject(sql, employeeRowMapper, id);
-        } catch (EmptyResultDataAccessException e) {
-            throw new ResourceNotFoundException("Employee not found with id: " + id);
+        return findEmployeeById(id).orElseThrow(() -> new ResourceNotFoundException("Employee not found with id: " + id));
+    }
+    
+    // Find Employee by ID restricted to the requested fields
+    public Optional<Map<String, Object>> findEmployeeById(Long id, String fields) {
+        FieldProjection projection = FieldProjection.parse(fields, PROJECTABLE_COLUMNS);
+        if (projection == null) {
+            throw new InvalidRequestException("fields must name at least one field");
         }
+        String sql = "SELECT " + projection.selectList() + " FROM employees WHERE id = ?";
+        return first(ApiEvents.query(jdbcTemplate, "Employee", sql, projection.rowMapper(), id));
+    }
+    
+    // Get Employee by ID restricted to the requested fields
+    public Map<String, Object> getEmployeeById(Long id, String fields) {
+        return findEmployeeById(id, fields).orElseThrow(() -> new ResourceNotFoundException("Employee not found with id: " + id));
+    }
+    
+    // Single row of a by-id query, if any
+    private static <T> Optional<T> first(List<T> rows) {
+        return rows.isEmpty() ? Optional.empty() : Optional.of(rows.get(0));
     }    
-    // Update Employee
+    // Update Employee; the audit record commits with the change, the cache invalidation follows the commit
+    @Transactional
     public Employee updateEmployee(Long id, Employee entity) {
         // Generate UPDATE query dynamically based on entity fields
         java.lang.reflect.Field[] fields = entity.getClass().getDeclaredFields();
@@ -110,8 +218,9 @@ public class EmployeeService {
         java.util.List<Object> parameters = new java.util.ArrayList<>();
         
         for (java.lang.reflect.Field field : fields) {
-            if ("id".equals(field.getName()) || "serialVersionUID".equals(field.getName())) {
-                continue; // Skip ID and serialVersionUID
+            if ("id".equals(field.getName()) || "serialVersionUID".equals(field.getName())
+                    || "createdDate".equals(field.getName())) {
+                continue; // Skip ID, serialVersionUID and the database-managed created_date
             }
             
             field.setAccessible(true);
@@ -128,21 +237,49 @@ public class EmployeeService {
         parameters.add(id); // Add ID for WHERE clause
         
         String sql = "UPDATE employees SET " + String.join(", ", setClause) + " WHERE id = ?";
-        int updated = jdbcTemplate.update(sql, parameters.toArray());
+        int updated = ApiEvents.update(jdbcTemplate, "Employee", sql, parameters.toArray());
         
         if (updated == 0) {
             throw new ResourceNotFoundException("Employee not found with id: " + id);
         }
         
         entity.setId(id);
+        if (auditOutbox != null) {
+            auditOutbox.record("Employee", id, "UPDATE", entity);
+        }
+        if (jsonRowCache != null) {
+            afterCommit(() -> jsonRowCache.invalidate(id));
+        }
         return entity;
     }    
-    // Delete Employee
+    // Delete Employee; the audit record commits with the change, the cache invalidation follows the commit
+    @Transactional
     public void deleteEmployee(Long id) {
         String sql = "DELETE FROM employees WHERE id = ?";
-        int deleted = jdbcTemplate.update(sql, id);
+        int deleted = ApiEvents.update(jdbcTemplate, "Employee", sql, id);
         
         if (deleted == 0) {
             throw new ResourceNotFoundException("Employee not found with id: " + id);
         }
+        if (auditOutbox != null) {
+            auditOutbox.record("Employee", id, "DELETE", null);
+        }
+        if (jsonRowCache != null) {
+            afterCommit(() -> jsonRowCache.invalidate(id));
+        }
+    }
+    
+    // Run once the surrounding transaction commits (and not at all on rollback), or now outside one.
+    // A reader between an early invalidation and the commit would re-cache the old row under the new version.
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
     }}
\ No newline at end of file
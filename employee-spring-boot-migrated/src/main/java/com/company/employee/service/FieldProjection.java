@@ -0,0 +1,82 @@
+package com.company.employee.service;
+
+import com.company.employee.exception.InvalidRequestException;
+import org.springframework.jdbc.core.RowMapper;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * FieldProjection - Column-restricted view of an entity requested through ?fields=
+ *
+ * Requested field names are checked against a whitelist of field -> column names,
+ * so only known columns ever reach the generated SELECT list. Rows are mapped by
+ * column index straight into sparse maps holding just the requested fields.
+ */
+public class FieldProjection {
+
+    private final String[] fields;
+    private final String[] columns;
+
+    private FieldProjection(String[] fields, String[] columns) {
+        this.fields = fields;
+        this.columns = columns;
+    }
+
+    /**
+     * Parse a comma-separated field list; returns null when no projection was requested.
+     */
+    public static FieldProjection parse(String fieldList, Map<String, String> whitelist) {
+        if (fieldList == null || fieldList.isBlank()) {
+            return null;
+        }
+
+        Set<String> requested = new LinkedHashSet<>();
+        for (String field : fieldList.split(",")) {
+            String name = field.trim();
+            if (name.isEmpty()) {
+                continue;
+            }
+            if (!whitelist.containsKey(name)) {
+                throw new InvalidRequestException("Unknown field: " + name);
+            }
+            requested.add(name);
+        }
+        if (requested.isEmpty()) {
+            return null;
+        }
+
+        String[] fields = requested.toArray(new String[0]);
+        String[] columns = new String[fields.length];
+        for (int i = 0; i < fields.length; i++) {
+            columns[i] = whitelist.get(fields[i]);
+        }
+        return new FieldProjection(fields, columns);
+    }
+
+    // Comma-separated column list for the SELECT clause
+    public String selectList() {
+        return String.join(", ", columns);
+    }
+
+    // Maps each row into a map of only the requested fields, in request order
+    public RowMapper<Map<String, Object>> rowMapper() {
+        return (rs, rowNum) -> {
+            Map<String, Object> row = new LinkedHashMap<>(fields.length * 2);
+            for (int i = 0; i < fields.length; i++) {
+                Object value = rs.getObject(i + 1);
+                if (value instanceof Date) {
+                    value = ((Date) value).toLocalDate();
+                } else if (value instanceof Timestamp) {
+                    value = ((Timestamp) value).toLocalDateTime();
+                }
+                row.put(fields[i], value);
+            }
+            return row;
+        };
+    }
+}
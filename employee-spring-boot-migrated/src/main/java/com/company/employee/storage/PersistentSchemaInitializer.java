@@ -0,0 +1,98 @@
+package com.company.employee.storage;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.jdbc.init.DataSourceScriptDatabaseInitializer;
+import org.springframework.boot.sql.init.DatabaseInitializationMode;
+import org.springframework.boot.sql.init.DatabaseInitializationSettings;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.List;
+
+/**
+ * PersistentSchemaInitializer - Runs schema.sql only against a database that has no employees table yet
+ *
+ * schema.sql drops and re-seeds the table, which is right for the in-memory database but
+ * would wipe a file-backed one on every restart. Being a DataSourceScriptDatabaseInitializer,
+ * Spring Boot orders it before the JdbcTemplate users, so services see the final schema.
+ * With preload enabled the table is scanned once so its pages are in H2's cache before
+ * the first request. An existing table whose hire_date is still VARCHAR is migrated with
+ * db/migration/hire-date-to-date.sql.
+ */
+public class PersistentSchemaInitializer extends DataSourceScriptDatabaseInitializer {
+    
+    private static final Logger logger = LoggerFactory.getLogger(PersistentSchemaInitializer.class);
+    
+    private static final String TABLE = "EMPLOYEES";
+    
+    // Read every row and the hire date index, pulling their pages into the cache. last_name has
+    // no index, so the first query has to scan the table (COUNT(email) only read the email index)
+    private static final List<String> PRELOAD_SQL = List.of(
+        "SELECT SUM(CHAR_LENGTH(last_name)), MAX(id) FROM employees",
+        "SELECT COUNT(id) FROM employees WHERE hire_date >= DATE '1900-01-01'");
+    
+    private final DataSource dataSource;
+    private final boolean preload;
+    
+    public PersistentSchemaInitializer(DataSource dataSource, boolean preload) {
+        super(dataSource, settings());
+        this.dataSource = dataSource;
+        this.preload = preload;
+    }
+    
+    private static DatabaseInitializationSettings settings() {
+        DatabaseInitializationSettings settings = new DatabaseInitializationSettings();
+        settings.setSchemaLocations(List.of("classpath:schema.sql"));
+        settings.setMode(DatabaseInitializationMode.ALWAYS);
+        return settings;
+    }
+    
+    @Override
+    public boolean initializeDatabase() {
+        boolean initialized = false;
+        if (tableExists()) {
+            logger.info("Reusing existing {} table, skipping schema.sql", TABLE.toLowerCase());
+            if (hireDateIsText()) {
+                new ResourceDatabasePopulator(new ClassPathResource("db/migration/hire-date-to-date.sql")).execute(dataSource);
+                logger.info("Migrated employees.hire_date to DATE");
+            }
+        } else {
+            initialized = super.initializeDatabase();
+            logger.info("Created {} table from schema.sql", TABLE.toLowerCase());
+        }
+        if (preload) {
+            long start = System.nanoTime();
+            JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+            for (String sql : PRELOAD_SQL) {
+                jdbcTemplate.queryForList(sql);
+            }
+            logger.info("Preloaded {} pages in {} ms", TABLE.toLowerCase(), (System.nanoTime() - start) / 1_000_000);
+        }
+        return initialized;
+    }
+    
+    private boolean hireDateIsText() {
+        try (Connection connection = dataSource.getConnection();
+             ResultSet columns = connection.getMetaData().getColumns(null, null, TABLE, "HIRE_DATE")) {
+            return columns.next() && columns.getInt("DATA_TYPE") == Types.VARCHAR;
+        } catch (SQLException e) {
+            throw new IllegalStateException("Could not inspect the database schema", e);
+        }
+    }
+    
+    private boolean tableExists() {
+        try (Connection connection = dataSource.getConnection();
+             ResultSet tables = connection.getMetaData().getTables(null, null, TABLE, new String[] {"TABLE"})) {
+            return tables.next();
+        } catch (SQLException e) {
+            throw new IllegalStateException("Could not inspect the database schema", e);
+        }
+    }
+}
@@ -0,0 +1,152 @@
+package com.company.employee.warmup;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.availability.AvailabilityChangeEvent;
+import org.springframework.boot.availability.ReadinessState;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ApplicationContext;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.LongConsumer;
+
+/**
+ * WarmupRunner - Warms a fresh instance up before it reports ready
+ *
+ * Spring Boot only publishes ACCEPTING_TRAFFIC once the application runners have returned, so
+ * the readiness probe keeps the instance out of rotation while this runs:
+ * 1. opens pool connections up front,
+ * 2. primes the ids on the persisted hot key list (database pages, JSON row cache),
+ * 3. sends rounds of GET requests (the configured paths, the hot ids and a missing id)
+ *    through the local HTTP server until the round's p99
+ *    latency meets the target for stableRounds rounds in a row, which gives the JIT the
+ *    hot paths to compile.
+ * If the target is not met within maxDuration the instance becomes ready anyway, with a warning.
+ */
+public class WarmupRunner implements ApplicationRunner {
+    
+    private static final Logger logger = LoggerFactory.getLogger(WarmupRunner.class);
+    
+    // An id no row has, so the not-found path is warmed as well
+    private static final long MISSING_ID = -1;
+    
+    private final ApplicationContext context;
+    private final DataSource dataSource;
+    private final HotKeyTracker hotKeys;
+    private final LongConsumer primer;
+    private final String idPath;
+    private final List<String> paths;
+    private final int connections;
+    private final Duration latencyTarget;
+    private final int roundRequests;
+    private final int stableRounds;
+    private final Duration maxDuration;
+    
+    public WarmupRunner(ApplicationContext context, DataSource dataSource, HotKeyTracker hotKeys, LongConsumer primer,
+                        String idPath, List<String> paths, int connections, Duration latencyTarget, int roundRequests,
+                        int stableRounds, Duration maxDuration) {
+        this.context = context;
+        this.dataSource = dataSource;
+        this.hotKeys = hotKeys;
+        this.primer = primer;
+        this.idPath = idPath;
+        this.paths = paths;
+        this.connections = connections;
+        this.latencyTarget = latencyTarget;
+        this.roundRequests = roundRequests;
+        this.stableRounds = stableRounds;
+        this.maxDuration = maxDuration;
+    }
+    
+    @Override
+    public void run(ApplicationArguments args) throws Exception {
+        AvailabilityChangeEvent.publish(context, ReadinessState.REFUSING_TRAFFIC);
+        long start = System.nanoTime();
+        hotKeys.setRecording(false);
+        try {
+            openConnections();
+            List<Long> ids = hotKeys.load();
+            for (Long id : ids) {
+                primer.accept(id);
+            }
+            logger.info("Warm-up primed {} hot ids", ids.size());
+            
+            int port = context instanceof WebServerApplicationContext
+                ? ((WebServerApplicationContext) context).getWebServer().getPort()
+                : -1;
+            if (port > 0) {
+                exercise(port, ids);
+            }
+        } finally {
+            hotKeys.setRecording(true);
+        }
+        logger.info("Warm-up finished in {} ms", (System.nanoTime() - start) / 1_000_000);
+    }
+    
+    // Open the connections concurrently held by the pool, then hand them back to it
+    private void openConnections() throws SQLException {
+        List<Connection> opened = new ArrayList<>(connections);
+        try {
+            for (int i = 0; i < connections; i++) {
+                Connection connection = dataSource.getConnection();
+                opened.add(connection);
+                connection.isValid(1);
+            }
+        } finally {
+            for (Connection connection : opened) {
+                connection.close();
+            }
+        }
+    }
+    
+    private void exercise(int port, List<Long> hotIds) throws IOException, InterruptedException {
+        List<URI> targets = new ArrayList<>();
+        String base = "http://localhost:" + port;
+        for (String path : paths) {
+            targets.add(URI.create(base + path));
+        }
+        targets.add(URI.create(base + idPath + MISSING_ID));
+        for (Long id : hotIds.isEmpty() ? List.of(1L) : hotIds) {
+            targets.add(URI.create(base + idPath + id));
+        }
+        
+        HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(5)).build();
+        long deadline = System.nanoTime() + maxDuration.toNanos();
+        long targetNanos = latencyTarget.toNanos();
+        int stable = 0;
+        int rounds = 0;
+        long p99 = Long.MAX_VALUE;
+        while (stable < stableRounds) {
+            if (System.nanoTime() - deadline > 0) {
+                logger.warn("Warm-up p99 still {} ms after {} rounds (target {} ms), reporting ready anyway",
+                    p99 / 1_000_000.0, rounds, latencyTarget.toMillis());
+                return;
+            }
+            long[] latencies = new long[roundRequests];
+            for (int i = 0; i < roundRequests; i++) {
+                HttpRequest request = HttpRequest.newBuilder(targets.get(i % targets.size())).GET().build();
+                long sent = System.nanoTime();
+                client.send(request, HttpResponse.BodyHandlers.discarding());
+                latencies[i] = System.nanoTime() - sent;
+            }
+            Arrays.sort(latencies);
+            p99 = latencies[Math.min(latencies.length - 1, (int) Math.ceil(latencies.length * 0.99) - 1)];
+            stable = p99 <= targetNanos ? stable + 1 : 0;
+            rounds++;
+        }
+        logger.info("Warm-up met p99 {} ms after {} rounds", p99 / 1_000_000.0, rounds);
+    }
+}
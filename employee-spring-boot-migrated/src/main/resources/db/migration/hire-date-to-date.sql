@@ -0,0 +1,20 @@
+-- Migration: convert employees.hire_date from VARCHAR(100) to DATE
+-- For databases created before hire_date was a typed column.
+-- Values that are not valid ISO yyyy-MM-dd dates (including impossible days such as 2023-02-30)
+-- cannot be converted and become NULL. The CASE keeps the CAST away from anything that would fail it.
+
+ALTER TABLE employees ADD COLUMN hire_date_new DATE;
+
+UPDATE employees
+SET hire_date_new = CAST(TRIM(hire_date) AS DATE)
+WHERE CASE
+    WHEN REGEXP_LIKE(TRIM(hire_date), '^[0-9]{4}-(0[1-9]|1[0-2])-(0[1-9]|[12][0-9]|3[01])$')
+        THEN CAST(SUBSTRING(TRIM(hire_date), 9, 2) AS INT)
+            <= DAY_OF_MONTH(DATEADD(DAY, -1, DATEADD(MONTH, 1, CAST(SUBSTRING(TRIM(hire_date), 1, 7) || '-01' AS DATE))))
+    ELSE FALSE
+END;
+
+ALTER TABLE employees DROP COLUMN hire_date;
+ALTER TABLE employees ALTER COLUMN hire_date_new RENAME TO hire_date;
+
+CREATE INDEX IF NOT EXISTS idx_employees_hire_date ON employees (hire_date, id);
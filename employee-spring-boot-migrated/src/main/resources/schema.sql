@@ -10,10 +10,13 @@ CREATE TABLE employees (
     last_name VARCHAR(100),
     email VARCHAR(100) UNIQUE,
     department_id VARCHAR(100),
-    hire_date VARCHAR(100),
+    hire_date DATE,
     created_date TIMESTAMP DEFAULT CURRENT_TIMESTAMP
 );
 
+-- Index for hire date range scans (id makes the keyset cursor index-only)
+CREATE INDEX idx_employees_hire_date ON employees (hire_date, id);
+
 -- Insert sample data
 INSERT INTO employees (first_name, last_name, email, department_id, hire_date) VALUES
 ('John', 'Doe', 'john.doe@example.com', '1', '2023-01-15'),
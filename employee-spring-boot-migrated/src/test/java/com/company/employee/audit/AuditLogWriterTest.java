@@ -0,0 +1,77 @@
+package com.company.employee.audit;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Appending, reopening and size-based rotation of the audit log.
+ */
+class AuditLogWriterTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void batchesAreAppendedOneRecordPerLine() throws IOException {
+        try (AuditLogWriter writer = new AuditLogWriter(directory, 1 << 20, 3)) {
+            writer.append(records(0, 3));
+            writer.append(records(3, 2));
+        }
+        // Reopening appends instead of truncating
+        try (AuditLogWriter writer = new AuditLogWriter(directory, 1 << 20, 3)) {
+            writer.append(records(5, 1));
+            assertEquals(expectedLines(0, 6), Files.readAllLines(writer.currentFile()));
+        }
+    }
+
+    @Test
+    void filesRotatePastTheSizeLimitAndOnlyTheNewestAreKept() throws IOException {
+        try (AuditLogWriter writer = new AuditLogWriter(directory, 64, 2)) {
+            for (int batch = 0; batch < 10; batch++) {
+                writer.append(records(batch * 4, 4));
+            }
+        }
+        List<Path> rotated = rotatedFiles();
+        assertEquals(2, rotated.size());
+
+        // Nothing is split across files: every file holds whole batches
+        for (Path file : rotated) {
+            assertEquals(0, Files.readAllLines(file).size() % 4);
+        }
+        assertTrue(Files.readAllLines(directory.resolve("audit.log")).contains("{\"outboxId\":39}"));
+    }
+
+    private List<Path> rotatedFiles() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(file -> file.getFileName().toString().startsWith("audit-")).collect(Collectors.toList());
+        }
+    }
+
+    private static List<byte[]> records(int from, int count) {
+        List<byte[]> records = new ArrayList<>();
+        for (String line : expectedLines(from, count)) {
+            records.add(line.getBytes(StandardCharsets.UTF_8));
+        }
+        return records;
+    }
+
+    private static List<String> expectedLines(int from, int count) {
+        List<String> lines = new ArrayList<>();
+        for (int i = from; i < from + count; i++) {
+            lines.add("{\"outboxId\":" + i + "}");
+        }
+        return lines;
+    }
+}
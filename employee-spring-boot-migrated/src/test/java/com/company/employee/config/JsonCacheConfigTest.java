@@ -0,0 +1,35 @@
+package com.company.employee.config;
+
+import com.company.employee.cache.JsonRowCache;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The row cache is only created when enabled and reads are not routed to replicas.
+ */
+class JsonCacheConfigTest {
+
+    private final ApplicationContextRunner contextRunner = new ApplicationContextRunner()
+        .withBean(ObjectMapper.class)
+        .withUserConfiguration(JsonCacheConfig.class);
+
+    @Test
+    void cacheIsCreatedWhenEnabled() {
+        contextRunner.withPropertyValues("app.json-cache.enabled=true")
+            .run(context -> assertThat(context).hasSingleBean(JsonRowCache.class));
+    }
+
+    @Test
+    void cacheIsOffByDefault() {
+        contextRunner.run(context -> assertThat(context).doesNotHaveBean(JsonRowCache.class));
+    }
+
+    @Test
+    void routingTurnsTheCacheOff() {
+        contextRunner.withPropertyValues("app.json-cache.enabled=true", "app.routing.enabled=true")
+            .run(context -> assertThat(context).doesNotHaveBean(JsonRowCache.class));
+    }
+}
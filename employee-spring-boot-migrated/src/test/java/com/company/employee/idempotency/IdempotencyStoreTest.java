@@ -0,0 +1,168 @@
+package com.company.employee.idempotency;
+
+import com.company.employee.exception.IdempotencyConflictException;
+import com.company.employee.model.Employee;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.ResponseEntity;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Idempotency-Key handling of employee updates: replay, expiry and retries of in-flight requests.
+ */
+class IdempotencyStoreTest {
+
+    private static final String SCOPE = "PUT /employees/1";
+
+    private final ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+    private SimpleMeterRegistry registry;
+    private IdempotencyStore store;
+    private final AtomicInteger calls = new AtomicInteger();
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        store = new IdempotencyStore(objectMapper, registry, Duration.ofMinutes(5), 1 << 20, Duration.ofSeconds(5));
+    }
+
+    @Test
+    void retriedUpdatesReplayTheFirstResponse() {
+        Employee body = employee("Ada");
+        ResponseEntity<Employee> first = store.execute(SCOPE, "k1", body, () -> updated(body));
+        ResponseEntity<Employee> retry = store.execute(SCOPE, "k1", employee("Ada"), () -> updated(body));
+
+        assertSame(first, retry);
+        assertEquals(1, calls.get());
+        assertEquals(1.0, outcome("executed"));
+        assertEquals(1.0, outcome("replayed"));
+    }
+
+    @Test
+    void reusingAKeyForAnotherEmployeeBodyIsRejected() {
+        store.execute(SCOPE, "k1", employee("Ada"), () -> updated(employee("Ada")));
+        assertThrows(IdempotencyConflictException.class,
+            () -> store.execute(SCOPE, "k1", employee("Grace"), () -> updated(employee("Grace"))));
+        assertEquals(1.0, outcome("rejected"));
+    }
+
+    @Test
+    void expiredKeysRunTheUpdateAgain() throws InterruptedException {
+        store = new IdempotencyStore(objectMapper, registry, Duration.ofMillis(20), 1 << 20, Duration.ofSeconds(5));
+        Employee body = employee("Ada");
+        store.execute(SCOPE, "k1", body, () -> updated(body));
+        Thread.sleep(50);
+        store.execute(SCOPE, "k1", body, () -> updated(body));
+        assertEquals(2, calls.get());
+    }
+
+    @Test
+    void aFailedOriginalFailsTheWaitingDuplicateToo() throws Exception {
+        Employee body = employee("Ada");
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        CompletableFuture<ResponseEntity<Employee>> original = CompletableFuture.supplyAsync(() ->
+            store.execute(SCOPE, "k1", body, () -> {
+                started.countDown();
+                await(release);
+                throw new IllegalStateException("database down");
+            }));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+
+        CompletableFuture<ResponseEntity<Employee>> duplicate = CompletableFuture.supplyAsync(() ->
+            store.execute(SCOPE, "k1", body, () -> updated(body)));
+        // Let the duplicate start waiting before the original fails
+        Thread.sleep(100);
+        release.countDown();
+
+        ExecutionException failure = assertThrows(ExecutionException.class, () -> duplicate.get(5, TimeUnit.SECONDS));
+        assertInstanceOf(IllegalStateException.class, failure.getCause());
+        assertThrows(ExecutionException.class, () -> original.get(5, TimeUnit.SECONDS));
+        assertEquals(0, calls.get());
+        assertEquals(1.0, outcome("awaited"));
+
+        // The key was forgotten, so the client's next retry runs the update
+        store.execute(SCOPE, "k1", body, () -> updated(body));
+        assertEquals(1, calls.get());
+    }
+
+    @Test
+    void duplicatesGiveUpWithAConflictPastTheWaitTimeout() throws Exception {
+        store = new IdempotencyStore(objectMapper, registry, Duration.ofMinutes(5), 1 << 20, Duration.ofMillis(50));
+        Employee body = employee("Ada");
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        CompletableFuture<ResponseEntity<Employee>> original = CompletableFuture.supplyAsync(() ->
+            store.execute(SCOPE, "k1", body, () -> {
+                started.countDown();
+                await(release);
+                return updated(body);
+            }));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        try {
+            assertThrows(IdempotencyConflictException.class, () -> store.execute(SCOPE, "k1", body, () -> updated(body)));
+        } finally {
+            release.countDown();
+        }
+        original.get(5, TimeUnit.SECONDS);
+        assertEquals(1, calls.get());
+    }
+
+    @Test
+    void theMemoryCapBoundsTheStoredResponsesNotTheRequests() {
+        SimpleMeterRegistry meters = new SimpleMeterRegistry();
+        store = new IdempotencyStore(objectMapper, meters, Duration.ofMinutes(5), 4096, Duration.ofSeconds(5));
+        String report = "x".repeat(3000);
+        for (int i = 0; i < 10; i++) {
+            Employee body = employee("Ada" + i);
+            store.execute(SCOPE, "k" + i, body, () -> ResponseEntity.ok(report));
+        }
+        // Each small request stored a 3 KB response, so only the latest fits
+        assertEquals(1, store.size());
+        assertTrue(meters.get("idempotency.store.bytes").gauge().value() <= 4096);
+    }
+
+    private ResponseEntity<Employee> updated(Employee body) {
+        calls.incrementAndGet();
+        return ResponseEntity.ok(body);
+    }
+
+    private double outcome(String outcome) {
+        return registry.get("idempotency.requests").tag("outcome", outcome).counter().count();
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static Employee employee(String firstName) {
+        Employee employee = new Employee();
+        employee.setFirstName(firstName);
+        employee.setLastName("Lovelace");
+        employee.setEmail(firstName.toLowerCase() + "@example.com");
+        employee.setDepartmentId("ENG");
+        employee.setHireDate(LocalDate.of(2020, 1, 15));
+        return employee;
+    }
+}
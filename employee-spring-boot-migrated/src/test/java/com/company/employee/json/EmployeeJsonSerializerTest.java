@@ -0,0 +1,46 @@
+package com.company.employee.json;
+
+import com.company.employee.model.Employee;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * The hand-written serializer must produce byte-for-byte what the bean serializer does.
+ */
+class EmployeeJsonSerializerTest {
+
+    // Spring Boot's defaults: JavaTimeModule with ISO strings instead of timestamps
+    private final ObjectMapper beanMapper = Jackson2ObjectMapperBuilder.json()
+        .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+        .build();
+
+    private final ObjectMapper handWrittenMapper = Jackson2ObjectMapperBuilder.json()
+        .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+        .modulesToInstall(new SimpleModule("EmployeeSerializer").addSerializer(Employee.class, new EmployeeJsonSerializer()))
+        .build();
+
+    @Test
+    void matchesTheBeanSerializer() throws Exception {
+        Employee full = new Employee();
+        full.setId(7L);
+        full.setFirstName("Jane");
+        full.setLastName("O\"Neil");
+        full.setEmail("jane@example.com");
+        full.setDepartmentId("2");
+        full.setHireDate(LocalDate.of(2023, 2, 20));
+        full.setCreatedDate(LocalDateTime.of(2024, 1, 5, 9, 30));
+
+        for (Object value : List.of(full, new Employee(), List.of(full, new Employee()))) {
+            assertEquals(beanMapper.writeValueAsString(value), handWrittenMapper.writeValueAsString(value));
+        }
+    }
+}
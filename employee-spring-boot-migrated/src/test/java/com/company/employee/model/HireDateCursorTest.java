@@ -0,0 +1,43 @@
+package com.company.employee.model;
+
+import com.company.employee.exception.InvalidRequestException;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Encoding and decoding of the hire date keyset cursor.
+ */
+class HireDateCursorTest {
+
+    @Test
+    void cursorsRoundTripThroughTheirEncoding() {
+        Employee employee = new Employee();
+        employee.setId(42L);
+        employee.setHireDate(LocalDate.of(2023, 2, 20));
+
+        HireDateCursor cursor = HireDateCursor.after(employee);
+        assertEquals("2023-02-20_42", cursor.toString());
+
+        HireDateCursor parsed = HireDateCursor.parse(cursor.toString());
+        assertEquals(LocalDate.of(2023, 2, 20), parsed.getHireDate());
+        assertEquals(42L, parsed.getId());
+    }
+
+    @Test
+    void blankMeansFirstPage() {
+        assertNull(HireDateCursor.parse(null));
+        assertNull(HireDateCursor.parse(" "));
+    }
+
+    @Test
+    void malformedCursorsAreRejectedAsBadRequests() {
+        for (String value : new String[] {"2023-02-20", "2023-02-30_1", "2023-02-20_x", "_1", "2023-02-20_"}) {
+            assertThrows(InvalidRequestException.class, () -> HireDateCursor.parse(value), value);
+        }
+    }
+}
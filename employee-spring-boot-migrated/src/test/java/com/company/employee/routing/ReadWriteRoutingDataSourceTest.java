@@ -0,0 +1,131 @@
+package com.company.employee.routing;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Routing between an H2 primary and two H2 replicas, each tagged with its own name.
+ */
+class ReadWriteRoutingDataSourceTest {
+
+    private final String run = UUID.randomUUID().toString();
+
+    private DataSource primary;
+    private DataSource replica1;
+    private ReplicaPool replicas;
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        primary = node("primary");
+        replica1 = node("replica1");
+        replicas = new ReplicaPool(List.of(node("replica0"), replica1), 1);
+        jdbcTemplate = new JdbcTemplate(new ReadWriteRoutingDataSource(primary, replicas));
+    }
+
+    @AfterEach
+    void tearDown() {
+        ReadWriteRoutingDataSource.setReadOnly(false);
+    }
+
+    @Test
+    void writesGoToThePrimary() {
+        assertEquals("primary", currentNode());
+    }
+
+    @Test
+    void readsAreBalancedOverReplicas() {
+        ReadWriteRoutingDataSource.setReadOnly(true);
+        Set<String> seen = new HashSet<>();
+        for (int i = 0; i < 4; i++) {
+            seen.add(currentNode());
+        }
+        assertEquals(Set.of("replica0", "replica1"), seen);
+    }
+
+    @Test
+    void failingReplicasAreSkippedAndPrimaryIsTheLastResort() {
+        ReplicaPool pool = new ReplicaPool(List.of(missing("gone0"), replica1), 1);
+        jdbcTemplate = new JdbcTemplate(new ReadWriteRoutingDataSource(primary, pool));
+        pool.checkHealth();
+        assertFalse(pool.isHealthy(0));
+        assertTrue(pool.isHealthy(1));
+
+        ReadWriteRoutingDataSource.setReadOnly(true);
+        for (int i = 0; i < 4; i++) {
+            assertEquals("replica1", currentNode());
+        }
+
+        pool = new ReplicaPool(List.of(missing("gone1")), 1);
+        jdbcTemplate = new JdbcTemplate(new ReadWriteRoutingDataSource(primary, pool));
+        // Not health-checked yet: the failed connection marks it down and the read falls back
+        assertEquals("primary", currentNode());
+        assertFalse(pool.isHealthy(0));
+    }
+
+    @Test
+    void destroyClosesThePrimaryPoolAndTheReplicas() throws Exception {
+        HikariDataSource pooledPrimary = pooled("pooled-primary");
+        HikariDataSource pooledReplica = pooled("pooled-replica");
+        ReadWriteRoutingDataSource router =
+            new ReadWriteRoutingDataSource(pooledPrimary, new ReplicaPool(List.of(pooledReplica), 1));
+        new JdbcTemplate(router).queryForObject("SELECT name FROM node", String.class);
+
+        router.destroy();
+
+        assertTrue(pooledPrimary.isClosed());
+        assertTrue(pooledReplica.isClosed());
+    }
+
+    @Test
+    void writersArePinnedForTheWindowOnly() throws InterruptedException {
+        ReadYourWritesTracker tracker = new ReadYourWritesTracker(Duration.ofMillis(100));
+        tracker.recordWrite("client-a");
+        assertTrue(tracker.isPinned("client-a"));
+        assertFalse(tracker.isPinned("client-b"));
+
+        Thread.sleep(150);
+        assertFalse(tracker.isPinned("client-a"));
+    }
+
+    private String currentNode() {
+        return jdbcTemplate.queryForObject("SELECT name FROM node", String.class);
+    }
+
+    private DataSource node(String name) {
+        DataSource dataSource = new DriverManagerDataSource("jdbc:h2:mem:" + run + "-" + name + ";DB_CLOSE_DELAY=-1", "sa", "");
+        JdbcTemplate template = new JdbcTemplate(dataSource);
+        template.execute("CREATE TABLE node (name VARCHAR(20))");
+        template.update("INSERT INTO node (name) VALUES (?)", name);
+        return dataSource;
+    }
+
+    private HikariDataSource pooled(String name) {
+        node(name);
+        HikariDataSource dataSource = new HikariDataSource();
+        dataSource.setJdbcUrl("jdbc:h2:mem:" + run + "-" + name + ";DB_CLOSE_DELAY=-1");
+        dataSource.setUsername("sa");
+        dataSource.setMaximumPoolSize(1);
+        return dataSource;
+    }
+
+    // A database that refuses connections
+    private DataSource missing(String name) {
+        return new DriverManagerDataSource("jdbc:h2:mem:" + run + "-" + name + ";IFEXISTS=TRUE", "sa", "");
+    }
+}
@@ -0,0 +1,87 @@
+package com.company.employee.service;
+
+import com.company.employee.cache.JsonRowCache;
+import com.company.employee.model.Employee;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Employee writes invalidate cached JSON only once their transaction commits.
+ */
+class CacheInvalidationCommitTest {
+
+    private SingleConnectionDataSource dataSource;
+    private TransactionTemplate transactions;
+    private JsonRowCache cache;
+    private EmployeeService service;
+
+    @BeforeEach
+    void setUp() {
+        dataSource = new SingleConnectionDataSource("jdbc:h2:mem:" + UUID.randomUUID(), "sa", "", true);
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("CREATE TABLE employees (id BIGINT PRIMARY KEY, first_name VARCHAR(100), last_name VARCHAR(100), "
+            + "email VARCHAR(100), department_id VARCHAR(100), hire_date DATE)");
+        jdbcTemplate.update("INSERT INTO employees (id, first_name) VALUES (1, 'Ada'), (2, 'Grace')");
+        transactions = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+
+        cache = new JsonRowCache(new ObjectMapper().registerModule(new JavaTimeModule()), 1 << 20);
+        service = new EmployeeService();
+        ReflectionTestUtils.setField(service, "jdbcTemplate", jdbcTemplate);
+        ReflectionTestUtils.setField(service, "jsonRowCache", cache);
+    }
+
+    @AfterEach
+    void tearDown() {
+        dataSource.destroy();
+    }
+
+    @Test
+    void updatesInvalidateAfterTheCommit() {
+        long before = cache.version();
+        transactions.executeWithoutResult(status -> {
+            service.updateEmployee(1L, employee("Augusta"));
+            assertEquals(before, cache.version(), "invalidated before the commit");
+        });
+        assertEquals(before + 1, cache.version());
+    }
+
+    @Test
+    void rolledBackDeletesLeaveTheCacheAlone() {
+        long before = cache.version();
+        transactions.executeWithoutResult(status -> {
+            service.deleteEmployee(2L);
+            status.setRollbackOnly();
+        });
+        assertEquals(before, cache.version());
+    }
+
+    @Test
+    void writesOutsideATransactionInvalidateAtOnce() {
+        long before = cache.version();
+        service.deleteEmployee(2L);
+        assertEquals(before + 1, cache.version());
+    }
+
+    private static Employee employee(String firstName) {
+        Employee employee = new Employee();
+        employee.setFirstName(firstName);
+        employee.setLastName("King");
+        employee.setEmail(firstName.toLowerCase() + "@example.com");
+        employee.setDepartmentId("ENG");
+        employee.setHireDate(LocalDate.of(2021, 6, 1));
+        return employee;
+    }
+}
@@ -0,0 +1,101 @@
+package com.company.employee.service;
+
+import com.company.employee.model.Employee;
+import com.company.employee.model.HireDateCursor;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Keyset paging of hire date range queries, with many employees sharing a hire date.
+ */
+class HireDatePagingTest {
+
+    private SingleConnectionDataSource dataSource;
+    private EmployeeService service;
+
+    @BeforeEach
+    void setUp() {
+        dataSource = new SingleConnectionDataSource("jdbc:h2:mem:" + UUID.randomUUID(), "sa", "", true);
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("CREATE TABLE employees (id BIGINT PRIMARY KEY, first_name VARCHAR(100), hire_date DATE)");
+        jdbcTemplate.execute("CREATE INDEX idx_employees_hire_date ON employees (hire_date, id)");
+        // Ids deliberately not in hire date order: ties on 2023-02-01 are 2, 3, 5, 7, 8
+        insert(jdbcTemplate, 1, "2023-03-01");
+        insert(jdbcTemplate, 2, "2023-02-01");
+        insert(jdbcTemplate, 3, "2023-02-01");
+        insert(jdbcTemplate, 4, "2023-01-01");
+        insert(jdbcTemplate, 5, "2023-02-01");
+        insert(jdbcTemplate, 6, null);
+        insert(jdbcTemplate, 7, "2023-02-01");
+        insert(jdbcTemplate, 8, "2023-02-01");
+        insert(jdbcTemplate, 9, "2023-01-01");
+
+        service = new EmployeeService();
+        ReflectionTestUtils.setField(service, "jdbcTemplate", jdbcTemplate);
+    }
+
+    @AfterEach
+    void tearDown() {
+        dataSource.destroy();
+    }
+
+    @Test
+    void pagesWalkEveryRowOnceInHireDateThenIdOrder() {
+        for (int pageSize = 1; pageSize <= 4; pageSize++) {
+            assertEquals(List.of(4L, 9L, 2L, 3L, 5L, 7L, 8L, 1L), walk(null, null, pageSize), "page size " + pageSize);
+        }
+    }
+
+    @Test
+    void aCursorInsideARunOfTiesContinuesWithTheNextId() {
+        HireDateCursor cursor = new HireDateCursor(LocalDate.of(2023, 2, 1), 3);
+
+        List<Employee> page = service.getEmployeesHiredBetween(null, null, cursor, 3);
+
+        assertEquals(List.of(5L, 7L, 8L), ids(page));
+    }
+
+    @Test
+    void rangeBoundsAreInclusiveAndCombineWithTheCursor() {
+        LocalDate day = LocalDate.of(2023, 2, 1);
+        assertEquals(List.of(2L, 3L, 5L, 7L, 8L), walk(day, day, 2));
+
+        HireDateCursor cursor = new HireDateCursor(day, 8);
+        assertEquals(List.of(), ids(service.getEmployeesHiredBetween(day, day, cursor, 2)));
+    }
+
+    // Follow cursors the way a client would, until a short page
+    private List<Long> walk(LocalDate from, LocalDate to, int pageSize) {
+        List<Long> seen = new ArrayList<>();
+        HireDateCursor cursor = null;
+        while (true) {
+            List<Employee> page = service.getEmployeesHiredBetween(from, to, cursor, pageSize);
+            seen.addAll(ids(page));
+            if (page.size() < pageSize) {
+                return seen;
+            }
+            cursor = HireDateCursor.parse(HireDateCursor.after(page.get(page.size() - 1)).toString());
+        }
+    }
+
+    private static List<Long> ids(List<Employee> employees) {
+        return employees.stream().map(Employee::getId).collect(Collectors.toList());
+    }
+
+    private static void insert(JdbcTemplate jdbcTemplate, long id, String hireDate) {
+        jdbcTemplate.update("INSERT INTO employees (id, first_name, hire_date) VALUES (?, ?, ?)",
+            id, "e" + id, hireDate != null ? LocalDate.parse(hireDate) : null);
+    }
+}
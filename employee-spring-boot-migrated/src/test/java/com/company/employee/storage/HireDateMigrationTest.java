@@ -0,0 +1,68 @@
+package com.company.employee.storage;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+/**
+ * db/migration/hire-date-to-date.sql on a table that still stores hire dates as text.
+ */
+class HireDateMigrationTest {
+
+    private SingleConnectionDataSource dataSource;
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        // The in-memory database lives as long as this one connection
+        dataSource = new SingleConnectionDataSource("jdbc:h2:mem:" + UUID.randomUUID(), "sa", "", true);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("CREATE TABLE employees (id BIGINT PRIMARY KEY, hire_date VARCHAR(100))");
+    }
+
+    @AfterEach
+    void tearDown() {
+        dataSource.destroy();
+    }
+
+    @Test
+    void validDatesAreConvertedAndEverythingElseBecomesNull() {
+        Map<Long, String> values = Map.of(
+            1L, "2023-01-15",
+            2L, " 2024-02-29 ",
+            3L, "2023-02-30",
+            4L, "2023-02-29",
+            5L, "2023-04-31",
+            6L, "2023-13-01",
+            7L, "15/01/2023",
+            8L, "");
+        values.forEach((id, value) -> jdbcTemplate.update("INSERT INTO employees VALUES (?, ?)", id, value));
+        jdbcTemplate.update("INSERT INTO employees VALUES (9, NULL)");
+
+        new ResourceDatabasePopulator(new ClassPathResource("db/migration/hire-date-to-date.sql")).execute(dataSource);
+
+        assertEquals(LocalDate.of(2023, 1, 15), hireDate(1));
+        assertEquals(LocalDate.of(2024, 2, 29), hireDate(2));
+        for (long id = 3; id <= 9; id++) {
+            assertNull(hireDate(id), "row " + id);
+        }
+        assertEquals("DATE", jdbcTemplate.queryForObject(
+            "SELECT DATA_TYPE FROM INFORMATION_SCHEMA.COLUMNS WHERE TABLE_NAME = 'EMPLOYEES' AND COLUMN_NAME = 'HIRE_DATE'",
+            String.class));
+    }
+
+    private LocalDate hireDate(long id) {
+        return jdbcTemplate.queryForObject("SELECT hire_date FROM employees WHERE id = ?", LocalDate.class, id);
+    }
+}
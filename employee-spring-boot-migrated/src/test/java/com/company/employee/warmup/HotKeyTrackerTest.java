@@ -0,0 +1,68 @@
+package com.company.employee.warmup;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+/**
+ * Ranking, pausing and persistence of the hot key list.
+ */
+class HotKeyTrackerTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void hottestIdsSurviveARestartInRankOrder() {
+        Path file = directory.resolve("hot.txt");
+        HotKeyTracker tracker = new HotKeyTracker(file, 2);
+        hit(tracker, 7L, 1);
+        hit(tracker, 3L, 5);
+        hit(tracker, 9L, 3);
+        tracker.destroy();
+
+        assertEquals(List.of(3L, 9L), new HotKeyTracker(file, 2).load());
+    }
+
+    @Test
+    void hitsAreIgnoredWhileRecordingIsPaused() {
+        HotKeyTracker tracker = new HotKeyTracker(directory.resolve("hot.txt"), 10);
+        tracker.setRecording(false);
+        hit(tracker, 1L, 3);
+        tracker.setRecording(true);
+        hit(tracker, 2L, 1);
+
+        assertEquals(List.of(2L), tracker.hottest());
+    }
+
+    @Test
+    void missingOrUnreadableListsLoadEmpty() throws IOException {
+        Path file = directory.resolve("hot.txt");
+        assertEquals(List.of(), new HotKeyTracker(file, 10).load());
+
+        Files.write(file, List.of("12", "not-an-id"), StandardCharsets.UTF_8);
+        assertEquals(List.of(), new HotKeyTracker(file, 10).load());
+    }
+
+    @Test
+    void nothingIsWrittenWithoutHits() {
+        Path file = directory.resolve("hot.txt");
+        new HotKeyTracker(file, 10).destroy();
+
+        assertFalse(Files.exists(file));
+    }
+
+    private static void hit(HotKeyTracker tracker, Long id, int times) {
+        for (int i = 0; i < times; i++) {
+            tracker.record(id);
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package com.company.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Baseline - Saves load reports and compares new runs against them
+ *
+ * A run regresses when p50 or p99 latency grows, or throughput drops, by more than the
+ * tolerance, or when its failure rate rises by more than one percentage point.
+ */
+public final class Baseline {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+
+    private Baseline() {
+    }
+
+    public static void save(LoadReport report, Path file) throws IOException {
+        if (file.getParent() != null) {
+            Files.createDirectories(file.getParent());
+        }
+        MAPPER.writeValue(file.toFile(), report);
+    }
+
+    public static LoadReport load(Path file) throws IOException {
+        return MAPPER.readValue(file.toFile(), LoadReport.class);
+    }
+
+    public static List<String> regressions(LoadReport baseline, LoadReport current, double tolerancePercent) {
+        double slack = tolerancePercent / 100.0;
+        List<String> regressions = new ArrayList<>();
+
+        checkLatency("p50", baseline.getOverall().getP50(), current.getOverall().getP50(), slack, regressions);
+        checkLatency("p99", baseline.getOverall().getP99(), current.getOverall().getP99(), slack, regressions);
+
+        if (current.getThroughput() < baseline.getThroughput() * (1 - slack)) {
+            regressions.add(String.format("throughput %.1f req/s is below baseline %.1f req/s",
+                current.getThroughput(), baseline.getThroughput()));
+        }
+        if (current.errorRate() > baseline.errorRate() + 0.01) {
+            regressions.add(String.format("failure rate %.2f%% is above baseline %.2f%%",
+                current.errorRate() * 100, baseline.errorRate() * 100));
+        }
+        return regressions;
+    }
+
+    private static void checkLatency(String label, double baseline, double current, double slack, List<String> out) {
+        if (current > baseline * (1 + slack)) {
+            out.add(String.format("%s latency %.2f ms exceeds baseline %.2f ms", label, current, baseline));
+        }
+    }
+}
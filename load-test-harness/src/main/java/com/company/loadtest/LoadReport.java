@@ -0,0 +1,188 @@
+package com.company.loadtest;
+
+import org.HdrHistogram.Histogram;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * LoadReport - Outcome of a load test run; also the format of saved baselines.
+ * Latencies are in milliseconds, measured from each request's intended start time.
+ */
+public class LoadReport {
+
+    private double targetRate;
+    private double durationSeconds;
+    private long requests;
+    private long serverErrors;
+    private long clientErrors;
+    private long dropped;
+    private double throughput;
+    private LatencyStats overall;
+    private Map<String, LatencyStats> byRequest = new LinkedHashMap<>();
+
+    public double errorRate() {
+        long attempted = requests + dropped;
+        return attempted == 0 ? 0 : (double) (serverErrors + dropped) / attempted;
+    }
+
+    public String format() {
+        StringBuilder out = new StringBuilder();
+        out.append(String.format("Target rate %.0f req/s over %.1f s%n", targetRate, durationSeconds));
+        out.append(String.format("Completed %d requests, %.1f req/s; 5xx/failed %d, 4xx %d, dropped %d%n",
+            requests, throughput, serverErrors, clientErrors, dropped));
+        out.append(String.format("%-60s %8s %9s %9s %9s %9s %9s%n", "request", "count", "p50", "p90", "p99", "p99.9", "max"));
+        out.append(overall.formatRow("ALL"));
+        for (Map.Entry<String, LatencyStats> entry : byRequest.entrySet()) {
+            out.append(entry.getValue().formatRow(entry.getKey()));
+        }
+        return out.toString();
+    }
+
+    public double getTargetRate() {
+        return targetRate;
+    }
+
+    public void setTargetRate(double targetRate) {
+        this.targetRate = targetRate;
+    }
+
+    public double getDurationSeconds() {
+        return durationSeconds;
+    }
+
+    public void setDurationSeconds(double durationSeconds) {
+        this.durationSeconds = durationSeconds;
+    }
+
+    public long getRequests() {
+        return requests;
+    }
+
+    public void setRequests(long requests) {
+        this.requests = requests;
+    }
+
+    public long getServerErrors() {
+        return serverErrors;
+    }
+
+    public void setServerErrors(long serverErrors) {
+        this.serverErrors = serverErrors;
+    }
+
+    public long getClientErrors() {
+        return clientErrors;
+    }
+
+    public void setClientErrors(long clientErrors) {
+        this.clientErrors = clientErrors;
+    }
+
+    public long getDropped() {
+        return dropped;
+    }
+
+    public void setDropped(long dropped) {
+        this.dropped = dropped;
+    }
+
+    public double getThroughput() {
+        return throughput;
+    }
+
+    public void setThroughput(double throughput) {
+        this.throughput = throughput;
+    }
+
+    public LatencyStats getOverall() {
+        return overall;
+    }
+
+    public void setOverall(LatencyStats overall) {
+        this.overall = overall;
+    }
+
+    public Map<String, LatencyStats> getByRequest() {
+        return byRequest;
+    }
+
+    public void setByRequest(Map<String, LatencyStats> byRequest) {
+        this.byRequest = byRequest;
+    }
+
+    /**
+     * Percentile summary of one latency histogram (recorded in microseconds).
+     */
+    public static class LatencyStats {
+        private long count;
+        private double p50;
+        private double p90;
+        private double p99;
+        private double p999;
+        private double max;
+
+        public static LatencyStats of(Histogram micros) {
+            LatencyStats stats = new LatencyStats();
+            stats.count = micros.getTotalCount();
+            stats.p50 = micros.getValueAtPercentile(50) / 1000.0;
+            stats.p90 = micros.getValueAtPercentile(90) / 1000.0;
+            stats.p99 = micros.getValueAtPercentile(99) / 1000.0;
+            stats.p999 = micros.getValueAtPercentile(99.9) / 1000.0;
+            stats.max = micros.getMaxValue() / 1000.0;
+            return stats;
+        }
+
+        String formatRow(String label) {
+            return String.format("%-60.60s %8d %8.2fms %8.2fms %8.2fms %8.2fms %8.2fms%n", label, count, p50, p90, p99, p999, max);
+        }
+
+        public long getCount() {
+            return count;
+        }
+
+        public void setCount(long count) {
+            this.count = count;
+        }
+
+        public double getP50() {
+            return p50;
+        }
+
+        public void setP50(double p50) {
+            this.p50 = p50;
+        }
+
+        public double getP90() {
+            return p90;
+        }
+
+        public void setP90(double p90) {
+            this.p90 = p90;
+        }
+
+        public double getP99() {
+            return p99;
+        }
+
+        public void setP99(double p99) {
+            this.p99 = p99;
+        }
+
+        public double getP999() {
+            return p999;
+        }
+
+        public void setP999(double p999) {
+            this.p999 = p999;
+        }
+
+        public double getMax() {
+            return max;
+        }
+
+        public void setMax(double max) {
+            this.max = max;
+        }
+    }
+}
@@ -0,0 +1,140 @@
+package com.company.loadtest;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * LoadTestMain - Replays Postman collections as an open-model load test
+ *
+ * Usage:
+ *   java -cp load-test-harness.jar com.company.loadtest.LoadTestMain \
+ *       --collection ../Mule_Employee_API_Postman_Collection.json \
+ *       --target http://localhost:8080 --rate 200 --duration 60 \
+ *       --baseline baselines/employee-api.json [--save-baseline]
+ *
+ * Options:
+ *   --collection FILE     Postman v2.1 collection, may be repeated
+ *   --target URL          Base URL of the API under test (default http://localhost:8080)
+ *   --strip-prefix PATH   Path prefix removed from collection URLs (default /api)
+ *   --weights LIST        Per-method weights (default GET=10,PUT=2,POST=1,DELETE=0)
+ *   --exclude REGEX       Skip collection items whose name matches (default: health checks, auth tests)
+ *   --rate N              Arrival rate in requests per second (default 100)
+ *   --warmup SECONDS      Unmeasured warm-up before the measured window (default 10)
+ *   --duration SECONDS    Measured window (default 60)
+ *   --max-in-flight N     Requests beyond this many outstanding are dropped (default 10000)
+ *   --app-jar FILE        Start this API jar on the target's port for the run
+ *   --baseline FILE       Compare against this report; exit 1 on regression or if FILE is missing
+ *   --save-baseline       Write this run's report to --baseline instead of comparing
+ *   --tolerance PERCENT   Allowed latency/throughput drift before failing (default 10)
+ */
+public final class LoadTestMain {
+
+    private LoadTestMain() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, List<String>> options = parse(args);
+
+        String target = option(options, "target", "http://localhost:8080");
+        String stripPrefix = option(options, "strip-prefix", "/api");
+        Pattern exclude = Pattern.compile(option(options, "exclude", "(?i)health check|authentication"));
+        Map<String, Integer> weights = parseWeights(option(options, "weights", "GET=10,PUT=2,POST=1,DELETE=0"));
+        double rate = Double.parseDouble(option(options, "rate", "100"));
+        Duration warmup = Duration.ofSeconds(Long.parseLong(option(options, "warmup", "10")));
+        Duration duration = Duration.ofSeconds(Long.parseLong(option(options, "duration", "60")));
+        int maxInFlight = Integer.parseInt(option(options, "max-in-flight", "10000"));
+        double tolerance = Double.parseDouble(option(options, "tolerance", "10"));
+        String baselineFile = option(options, "baseline", null);
+        boolean saveBaseline = options.containsKey("save-baseline");
+
+        List<String> collections = options.getOrDefault("collection", List.of());
+        if (collections.isEmpty()) {
+            System.err.println("At least one --collection is required");
+            System.exit(2);
+        }
+        List<RequestTemplate> templates = new ArrayList<>();
+        for (String collection : collections) {
+            templates.addAll(PostmanCollection.load(Path.of(collection), stripPrefix));
+        }
+        Workload workload = Workload.of(templates, weights, exclude);
+        System.out.println("Workload mix:");
+        System.out.print(workload.describe());
+
+        LoadReport report;
+        String appJar = option(options, "app-jar", null);
+        if (appJar != null) {
+            int port = java.net.URI.create(target).getPort();
+            Path log = Path.of("target", "load-test-app.log");
+            Files.createDirectories(log.getParent());
+            try (LocalApplication app = LocalApplication.start(Path.of(appJar), port < 0 ? 8080 : port,
+                    List.of(), log, Duration.ofMinutes(2))) {
+                System.out.println("Started " + appJar + " as pid " + app.pid() + ", output in " + log);
+                report = new OpenModelRunner(target, maxInFlight, Duration.ofSeconds(30)).run(workload, rate, warmup, duration);
+            }
+        } else {
+            report = new OpenModelRunner(target, maxInFlight, Duration.ofSeconds(30)).run(workload, rate, warmup, duration);
+        }
+        System.out.println();
+        System.out.print(report.format());
+
+        if (baselineFile == null) {
+            return;
+        }
+        Path baselinePath = Path.of(baselineFile);
+        if (saveBaseline) {
+            Baseline.save(report, baselinePath);
+            System.out.println("Saved baseline to " + baselinePath);
+            return;
+        }
+        if (!Files.exists(baselinePath)) {
+            // A gate without a baseline would pass every run, so a missing baseline fails it
+            System.out.println("No baseline at " + baselinePath + "; run with --save-baseline to record one");
+            System.exit(1);
+        }
+
+        List<String> regressions = Baseline.regressions(Baseline.load(baselinePath), report, tolerance);
+        if (regressions.isEmpty()) {
+            System.out.println("Within " + tolerance + "% of baseline " + baselinePath);
+            return;
+        }
+        System.out.println("REGRESSION against baseline " + baselinePath + ":");
+        regressions.forEach(r -> System.out.println("  - " + r));
+        System.exit(1);
+    }
+
+    private static Map<String, List<String>> parse(String[] args) {
+        Map<String, List<String>> options = new LinkedHashMap<>();
+        for (int i = 0; i < args.length; i++) {
+            if (!args[i].startsWith("--")) {
+                throw new IllegalArgumentException("Unexpected argument: " + args[i]);
+            }
+            String name = args[i].substring(2);
+            boolean hasValue = i + 1 < args.length && !args[i + 1].startsWith("--");
+            options.computeIfAbsent(name, k -> new ArrayList<>()).add(hasValue ? args[++i] : "true");
+        }
+        return options;
+    }
+
+    private static String option(Map<String, List<String>> options, String name, String defaultValue) {
+        List<String> values = options.get(name);
+        return values == null ? defaultValue : values.get(values.size() - 1);
+    }
+
+    private static Map<String, Integer> parseWeights(String spec) {
+        Map<String, Integer> weights = new LinkedHashMap<>();
+        for (String pair : spec.split(",")) {
+            String[] parts = pair.split("=");
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Invalid weight '" + pair + "', expected METHOD=N");
+            }
+            weights.put(parts[0].trim().toUpperCase(), Integer.parseInt(parts[1].trim()));
+        }
+        return weights;
+    }
+}
@@ -0,0 +1,84 @@
+package com.company.loadtest;
+
+import java.io.IOException;
+import java.net.ConnectException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * LocalApplication - Starts an API jar (EmployeeApplication / ProductApplication) for a run
+ * and stops it afterwards. The app's output goes to the given log file.
+ */
+public class LocalApplication implements AutoCloseable {
+
+    private final Process process;
+
+    private LocalApplication(Process process) {
+        this.process = process;
+    }
+
+    public static LocalApplication start(Path jar, int port, List<String> jvmArgs, Path log, Duration startupTimeout)
+            throws IOException, InterruptedException {
+        List<String> command = new ArrayList<>();
+        command.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+        command.addAll(jvmArgs);
+        command.add("-jar");
+        command.add(jar.toString());
+        command.add("--server.port=" + port);
+
+        Process process = new ProcessBuilder(command)
+            .redirectErrorStream(true)
+            .redirectOutput(log.toFile())
+            .start();
+        LocalApplication app = new LocalApplication(process);
+        try {
+            app.awaitListening(URI.create("http://localhost:" + port + "/"), startupTimeout);
+        } catch (IOException | InterruptedException | RuntimeException e) {
+            app.close();
+            throw e;
+        }
+        return app;
+    }
+
+    public long pid() {
+        return process.pid();
+    }
+
+    // Any HTTP response (even 404) means Tomcat is up and the context has started
+    private void awaitListening(URI uri, Duration timeout) throws IOException, InterruptedException {
+        HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(1)).build();
+        long deadline = System.nanoTime() + timeout.toNanos();
+        while (System.nanoTime() < deadline) {
+            if (!process.isAlive()) {
+                throw new IllegalStateException("Application exited with code " + process.exitValue() + " during startup");
+            }
+            try {
+                client.send(HttpRequest.newBuilder(uri).GET().build(), HttpResponse.BodyHandlers.discarding());
+                return;
+            } catch (ConnectException e) {
+                Thread.sleep(250);
+            }
+        }
+        throw new IllegalStateException("Application did not start listening within " + timeout);
+    }
+
+    @Override
+    public void close() {
+        process.destroy();
+        try {
+            if (!process.waitFor(15, TimeUnit.SECONDS)) {
+                process.destroyForcibly();
+            }
+        } catch (InterruptedException e) {
+            process.destroyForcibly();
+            Thread.currentThread().interrupt();
+        }
+    }
+}
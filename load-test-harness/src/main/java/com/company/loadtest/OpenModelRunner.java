@@ -0,0 +1,152 @@
+package com.company.loadtest;
+
+import org.HdrHistogram.ConcurrentHistogram;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * OpenModelRunner - Drives a workload at a fixed arrival rate
+ *
+ * Requests are started on a fixed schedule regardless of how many are still in flight,
+ * like independent clients arriving at the server. Latency is measured from the
+ * scheduled start rather than the actual send, so a stalled server shows up in the
+ * percentiles instead of silently lowering the offered load (coordinated omission).
+ * Requests beyond the in-flight cap are dropped and reported as failures.
+ */
+public class OpenModelRunner {
+
+    private static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.MINUTES.toMicros(5);
+
+    private final HttpClient client;
+    private final ExecutorService callbackExecutor;
+    private final String target;
+    private final int maxInFlight;
+    private final Duration requestTimeout;
+
+    private final ConcurrentHistogram overall = newHistogram();
+    private final Map<String, ConcurrentHistogram> byRequest = new ConcurrentHashMap<>();
+    private final AtomicLong inFlight = new AtomicLong();
+    private final AtomicLong completed = new AtomicLong();
+    private final AtomicLong serverErrors = new AtomicLong();
+    private final AtomicLong clientErrors = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+
+    public OpenModelRunner(String target, int maxInFlight, Duration requestTimeout) {
+        this.target = target.endsWith("/") ? target.substring(0, target.length() - 1) : target;
+        this.maxInFlight = maxInFlight;
+        this.requestTimeout = requestTimeout;
+        this.callbackExecutor = Executors.newCachedThreadPool(runnable -> {
+            Thread thread = new Thread(runnable, "load-client");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.client = HttpClient.newBuilder()
+            .executor(callbackExecutor)
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+    }
+
+    public LoadReport run(Workload workload, double ratePerSecond, Duration warmup, Duration duration) throws InterruptedException {
+        Random random = new Random(42);
+        long intervalNanos = (long) (TimeUnit.SECONDS.toNanos(1) / ratePerSecond);
+        long start = System.nanoTime();
+        long measureFrom = start + warmup.toNanos();
+        long end = measureFrom + duration.toNanos();
+
+        for (long i = 0; ; i++) {
+            long intended = start + i * intervalNanos;
+            if (intended >= end) {
+                break;
+            }
+            long wait = intended - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            send(workload.next(random), intended, intended >= measureFrom);
+        }
+
+        // Let in-flight requests finish before reading the histograms
+        long drainDeadline = System.nanoTime() + requestTimeout.toNanos() + TimeUnit.SECONDS.toNanos(1);
+        while (inFlight.get() > 0 && System.nanoTime() < drainDeadline) {
+            Thread.sleep(10);
+        }
+        callbackExecutor.shutdownNow();
+
+        return report(ratePerSecond, duration);
+    }
+
+    private void send(RequestTemplate template, long intendedStart, boolean measured) {
+        if (inFlight.incrementAndGet() > maxInFlight) {
+            inFlight.decrementAndGet();
+            if (measured) {
+                dropped.incrementAndGet();
+            }
+            return;
+        }
+
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(target + template.getPath()))
+            .timeout(requestTimeout)
+            .method(template.getMethod(), template.getBody() == null
+                ? HttpRequest.BodyPublishers.noBody()
+                : HttpRequest.BodyPublishers.ofString(template.getBody()));
+        template.getHeaders().forEach((key, value) -> {
+            if (!"content-length".equalsIgnoreCase(key) && !"host".equalsIgnoreCase(key)) {
+                request.header(key, value);
+            }
+        });
+
+        client.sendAsync(request.build(), HttpResponse.BodyHandlers.discarding())
+            .whenComplete((response, error) -> {
+                inFlight.decrementAndGet();
+                if (!measured) {
+                    return;
+                }
+                long micros = Math.min(HIGHEST_TRACKABLE_MICROS,
+                    TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - intendedStart));
+                overall.recordValue(micros);
+                byRequest.computeIfAbsent(template.toString(), k -> newHistogram()).recordValue(micros);
+                completed.incrementAndGet();
+                if (error != null || response.statusCode() >= 500) {
+                    serverErrors.incrementAndGet();
+                } else if (response.statusCode() >= 400) {
+                    clientErrors.incrementAndGet();
+                }
+            });
+    }
+
+    private LoadReport report(double ratePerSecond, Duration duration) {
+        double seconds = duration.toNanos() / 1e9;
+        LoadReport report = new LoadReport();
+        report.setTargetRate(ratePerSecond);
+        report.setDurationSeconds(seconds);
+        report.setRequests(completed.get());
+        report.setServerErrors(serverErrors.get());
+        report.setClientErrors(clientErrors.get());
+        report.setDropped(dropped.get());
+        report.setThroughput(completed.get() / seconds);
+        report.setOverall(LoadReport.LatencyStats.of(overall));
+        Map<String, LoadReport.LatencyStats> stats = new TreeMap<>();
+        for (Map.Entry<String, ConcurrentHistogram> entry : byRequest.entrySet()) {
+            stats.put(entry.getKey(), LoadReport.LatencyStats.of(entry.getValue()));
+        }
+        report.setByRequest(stats);
+        return report;
+    }
+
+    private static ConcurrentHistogram newHistogram() {
+        return new ConcurrentHistogram(HIGHEST_TRACKABLE_MICROS, 3);
+    }
+}
@@ -0,0 +1,97 @@
+package com.company.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * PostmanCollection - Reads Postman v2.1 collections into request templates
+ *
+ * Folders are flattened, {{variables}} are resolved from the collection's variable
+ * block, and every URL is reduced to its path and query so the request can be sent to
+ * whichever server is under test. A path prefix (the Mule apps' "/api") can be stripped
+ * since the Spring Boot apps serve the same resources from the root.
+ */
+public final class PostmanCollection {
+
+    private static final Pattern VARIABLE = Pattern.compile("\\{\\{([^}]+)}}");
+
+    private PostmanCollection() {
+    }
+
+    public static List<RequestTemplate> load(Path file, String stripPrefix) throws IOException {
+        JsonNode root = new ObjectMapper().readTree(file.toFile());
+
+        Map<String, String> variables = new HashMap<>();
+        for (JsonNode variable : root.path("variable")) {
+            variables.put(variable.path("key").asText(), variable.path("value").asText());
+        }
+
+        List<RequestTemplate> templates = new ArrayList<>();
+        collect(root.path("item"), "", variables, stripPrefix, templates);
+        return templates;
+    }
+
+    private static void collect(JsonNode items, String folder, Map<String, String> variables,
+                                String stripPrefix, List<RequestTemplate> out) {
+        for (JsonNode item : items) {
+            String name = folder + item.path("name").asText();
+            if (item.has("item")) {
+                collect(item.path("item"), name + "/", variables, stripPrefix, out);
+                continue;
+            }
+
+            JsonNode request = item.path("request");
+            JsonNode url = request.path("url");
+            String rawUrl = resolve(url.isTextual() ? url.asText() : url.path("raw").asText(), variables);
+
+            Map<String, String> headers = new LinkedHashMap<>();
+            for (JsonNode header : request.path("header")) {
+                if (!header.path("disabled").asBoolean(false)) {
+                    headers.put(header.path("key").asText(), resolve(header.path("value").asText(), variables));
+                }
+            }
+
+            JsonNode body = request.path("body");
+            String rawBody = "raw".equals(body.path("mode").asText()) ? resolve(body.path("raw").asText(), variables) : null;
+
+            out.add(new RequestTemplate(name, request.path("method").asText("GET"),
+                relativePath(rawUrl, stripPrefix), headers, rawBody));
+        }
+    }
+
+    private static String resolve(String text, Map<String, String> variables) {
+        Matcher matcher = VARIABLE.matcher(text);
+        StringBuilder resolved = new StringBuilder();
+        while (matcher.find()) {
+            String value = variables.getOrDefault(matcher.group(1).trim(), matcher.group());
+            matcher.appendReplacement(resolved, Matcher.quoteReplacement(value));
+        }
+        matcher.appendTail(resolved);
+        return resolved.toString();
+    }
+
+    private static String relativePath(String rawUrl, String stripPrefix) {
+        String withScheme = rawUrl.contains("://") ? rawUrl : "http://localhost" + (rawUrl.startsWith("/") ? "" : "/") + rawUrl;
+        URI uri = URI.create(withScheme);
+        String path = uri.getRawPath() == null || uri.getRawPath().isEmpty() ? "/" : uri.getRawPath();
+        if (stripPrefix != null && !stripPrefix.isEmpty()
+                && (path.equals(stripPrefix) || path.startsWith(stripPrefix + "/"))) {
+            path = path.substring(stripPrefix.length());
+            if (path.isEmpty()) {
+                path = "/";
+            }
+        }
+        return uri.getRawQuery() == null ? path : path + "?" + uri.getRawQuery();
+    }
+}
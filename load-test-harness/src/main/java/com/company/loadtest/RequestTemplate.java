@@ -0,0 +1,48 @@
+package com.company.loadtest;
+
+import java.util.Map;
+
+/**
+ * One request of a workload: a Postman collection item rebased onto the target server.
+ */
+public class RequestTemplate {
+    private final String name;
+    private final String method;
+    private final String path;
+    private final Map<String, String> headers;
+    private final String body;
+
+    public RequestTemplate(String name, String method, String path, Map<String, String> headers, String body) {
+        this.name = name;
+        this.method = method;
+        this.path = path;
+        this.headers = headers;
+        this.body = body;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getMethod() {
+        return method;
+    }
+
+    // Path and query relative to the target base URL, e.g. /employees/1
+    public String getPath() {
+        return path;
+    }
+
+    public Map<String, String> getHeaders() {
+        return headers;
+    }
+
+    public String getBody() {
+        return body;
+    }
+
+    @Override
+    public String toString() {
+        return method + " " + path + " (" + name + ")";
+    }
+}
@@ -0,0 +1,66 @@
+package com.company.loadtest;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.regex.Pattern;
+
+/**
+ * Workload - Weighted mix of request templates
+ *
+ * Each template's weight comes from its HTTP method (e.g. GET=10, PUT=2); templates
+ * whose name matches the exclude pattern or whose method has no weight are left out.
+ * Picking a request is a binary search over the cumulative weights.
+ */
+public class Workload {
+
+    private final RequestTemplate[] templates;
+    private final long[] cumulativeWeights;
+    private final long totalWeight;
+
+    private Workload(RequestTemplate[] templates, long[] cumulativeWeights) {
+        this.templates = templates;
+        this.cumulativeWeights = cumulativeWeights;
+        this.totalWeight = cumulativeWeights.length == 0 ? 0 : cumulativeWeights[cumulativeWeights.length - 1];
+    }
+
+    public static Workload of(List<RequestTemplate> candidates, Map<String, Integer> methodWeights, Pattern exclude) {
+        List<RequestTemplate> selected = new ArrayList<>();
+        List<Long> cumulative = new ArrayList<>();
+        long total = 0;
+        for (RequestTemplate template : candidates) {
+            int weight = methodWeights.getOrDefault(template.getMethod().toUpperCase(), 0);
+            if (weight <= 0 || (exclude != null && exclude.matcher(template.getName()).find())) {
+                continue;
+            }
+            total += weight;
+            selected.add(template);
+            cumulative.add(total);
+        }
+        if (selected.isEmpty()) {
+            throw new IllegalArgumentException("Workload is empty: no collection request has a positive weight");
+        }
+        return new Workload(selected.toArray(new RequestTemplate[0]),
+            cumulative.stream().mapToLong(Long::longValue).toArray());
+    }
+
+    public RequestTemplate next(Random random) {
+        long ticket = (long) (random.nextDouble() * totalWeight);
+        int pos = Arrays.binarySearch(cumulativeWeights, ticket + 1);
+        return templates[pos >= 0 ? pos : -pos - 1];
+    }
+
+    // Share of traffic each template receives, for the report header
+    public String describe() {
+        StringBuilder out = new StringBuilder();
+        long previous = 0;
+        for (int i = 0; i < templates.length; i++) {
+            long weight = cumulativeWeights[i] - previous;
+            previous = cumulativeWeights[i];
+            out.append(String.format("  %5.1f%%  %s%n", 100.0 * weight / totalWeight, templates[i]));
+        }
+        return out.toString();
+    }
+}
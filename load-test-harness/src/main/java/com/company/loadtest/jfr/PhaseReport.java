@@ -0,0 +1,144 @@
+package com.company.loadtest.jfr;
+
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * PhaseReport - Per-route, per-phase latency breakdown of a .jfr recording
+ *
+ * Reads the com.company.api.* events and attributes each request's time to JDBC,
+ * row mapping and Jackson serialization; whatever is left of the request duration is
+ * reported as "other" (Tomcat, filters, controller code). Query and serialization
+ * events are matched to their request by thread and time window.
+ *
+ *   java -cp load-test-harness.jar com.company.loadtest.jfr.PhaseReport api.jfr
+ */
+public final class PhaseReport {
+
+    private static final String REQUEST = "com.company.api.Request";
+    private static final String QUERY = "com.company.api.Query";
+    private static final String SERIALIZATION = "com.company.api.Serialization";
+
+    private PhaseReport() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length != 1) {
+            System.err.println("Usage: PhaseReport <recording.jfr>");
+            System.exit(2);
+        }
+
+        List<RecordedEvent> requests = new ArrayList<>();
+        Map<Long, List<RecordedEvent>> phasesByThread = new HashMap<>();
+        for (RecordedEvent event : RecordingFile.readAllEvents(Path.of(args[0]))) {
+            String name = event.getEventType().getName();
+            if (REQUEST.equals(name)) {
+                requests.add(event);
+            } else if ((QUERY.equals(name) || SERIALIZATION.equals(name)) && event.getThread() != null) {
+                phasesByThread.computeIfAbsent(event.getThread().getJavaThreadId(), t -> new ArrayList<>()).add(event);
+            }
+        }
+        for (List<RecordedEvent> phases : phasesByThread.values()) {
+            phases.sort(Comparator.comparing(RecordedEvent::getStartTime));
+        }
+
+        Map<String, RouteStats> routes = new TreeMap<>();
+        for (RecordedEvent request : requests) {
+            RouteStats stats = routes.computeIfAbsent(request.getString("route"), r -> new RouteStats());
+            long total = request.getDuration().toNanos();
+            long jdbc = 0;
+            long mapping = 0;
+            long serialization = 0;
+            long rows = 0;
+            for (RecordedEvent phase : phasesOf(request, phasesByThread)) {
+                if (QUERY.equals(phase.getEventType().getName())) {
+                    jdbc += phase.getLong("jdbcTime");
+                    mapping += phase.getLong("mappingTime");
+                    rows += phase.getLong("rowCount");
+                } else {
+                    serialization += phase.getDuration().toNanos();
+                }
+            }
+            stats.add(total, jdbc, mapping, serialization, rows);
+        }
+
+        System.out.printf("%-32s %8s %10s %10s %10s %10s %10s %10s %8s%n",
+            "route", "count", "total avg", "total p99", "jdbc", "mapping", "serialize", "other", "rows");
+        for (Map.Entry<String, RouteStats> entry : routes.entrySet()) {
+            entry.getValue().print(entry.getKey());
+        }
+    }
+
+    // Phases that ran on the request's thread inside the request's time window
+    private static List<RecordedEvent> phasesOf(RecordedEvent request, Map<Long, List<RecordedEvent>> phasesByThread) {
+        if (request.getThread() == null) {
+            return List.of();
+        }
+        List<RecordedEvent> phases = phasesByThread.getOrDefault(request.getThread().getJavaThreadId(), List.of());
+
+        // First phase starting at or after the request start
+        int lo = 0;
+        int hi = phases.size();
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (phases.get(mid).getStartTime().isBefore(request.getStartTime())) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+
+        List<RecordedEvent> inside = new ArrayList<>();
+        for (int i = lo; i < phases.size() && !phases.get(i).getStartTime().isAfter(request.getEndTime()); i++) {
+            if (!phases.get(i).getEndTime().isAfter(request.getEndTime())) {
+                inside.add(phases.get(i));
+            }
+        }
+        return inside;
+    }
+
+    private static final class RouteStats {
+        private final List<Long> totals = new ArrayList<>();
+        private long jdbc;
+        private long mapping;
+        private long serialization;
+        private long rows;
+
+        void add(long total, long jdbc, long mapping, long serialization, long rows) {
+            totals.add(total);
+            this.jdbc += jdbc;
+            this.mapping += mapping;
+            this.serialization += serialization;
+            this.rows += rows;
+        }
+
+        void print(String route) {
+            int n = totals.size();
+            long sum = 0;
+            for (long total : totals) {
+                sum += total;
+            }
+            List<Long> sorted = new ArrayList<>(totals);
+            Collections.sort(sorted);
+            long p99 = sorted.get(Math.min(n - 1, (int) Math.ceil(n * 0.99) - 1));
+            long other = Math.max(0, sum - jdbc - mapping - serialization);
+            System.out.printf("%-32.32s %8d %10s %10s %10s %10s %10s %10s %8.1f%n", route, n,
+                millis(sum / n), millis(p99), millis(jdbc / n), millis(mapping / n),
+                millis(serialization / n), millis(other / n), (double) rows / n);
+        }
+
+        private static String millis(long nanos) {
+            return String.format("%.3fms", nanos / 1e6);
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package com.company.loadtest;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Regression checks of a run against a saved baseline.
+ */
+class BaselineTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void runsWithinTheToleranceAreNotRegressions() {
+        LoadReport baseline = report(10, 100, 200, 0, 0);
+
+        assertEquals(List.of(), Baseline.regressions(baseline, report(10.9, 109, 181, 0, 0), 10));
+        assertEquals(List.of(), Baseline.regressions(baseline, report(5, 50, 250, 0, 0), 10));
+    }
+
+    @Test
+    void eachMetricPastTheToleranceIsReported() {
+        LoadReport baseline = report(10, 100, 200, 0, 0);
+
+        List<String> regressions = Baseline.regressions(baseline, report(11.1, 111, 179, 0, 0), 10);
+
+        assertEquals(3, regressions.size());
+        assertTrue(regressions.get(0).startsWith("p50 latency 11.10 ms"), regressions.get(0));
+        assertTrue(regressions.get(1).startsWith("p99 latency 111.00 ms"), regressions.get(1));
+        assertTrue(regressions.get(2).startsWith("throughput 179.0 req/s"), regressions.get(2));
+    }
+
+    @Test
+    void failureRateMayRiseByAtMostOnePoint() {
+        LoadReport baseline = report(10, 100, 200, 10, 0);
+
+        // 1000 attempted: 10 -> 20 failures is +1.0 point, 21 is past it
+        assertEquals(List.of(), Baseline.regressions(baseline, report(10, 100, 200, 20, 0), 10));
+        List<String> regressions = Baseline.regressions(baseline, report(10, 100, 200, 11, 10), 10);
+        assertEquals(1, regressions.size());
+        assertTrue(regressions.get(0).startsWith("failure rate"), regressions.get(0));
+    }
+
+    @Test
+    void savedBaselinesLoadBackUnchanged() throws IOException {
+        Path file = directory.resolve("baselines/api.json");
+        Baseline.save(report(12.5, 80.25, 199.5, 3, 1), file);
+
+        LoadReport loaded = Baseline.load(file);
+
+        assertEquals(12.5, loaded.getOverall().getP50());
+        assertEquals(80.25, loaded.getOverall().getP99());
+        assertEquals(199.5, loaded.getThroughput());
+        assertEquals(3, loaded.getServerErrors());
+        assertEquals(1, loaded.getDropped());
+        assertEquals(List.of(), Baseline.regressions(loaded, loaded, 0));
+    }
+
+    // A 1000-request run; errors and drops are out of the 1000 attempts
+    private static LoadReport report(double p50, double p99, double throughput, long serverErrors, long dropped) {
+        LoadReport.LatencyStats overall = new LoadReport.LatencyStats();
+        overall.setP50(p50);
+        overall.setP99(p99);
+        LoadReport report = new LoadReport();
+        report.setRequests(1000 - dropped);
+        report.setServerErrors(serverErrors);
+        report.setDropped(dropped);
+        report.setThroughput(throughput);
+        report.setOverall(overall);
+        return report;
+    }
+}
@@ -0,0 +1,98 @@
+package com.company.loadtest;
+
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Open-model scheduling against a local server that stalls once.
+ */
+class OpenModelRunnerTest {
+
+    private static final long STALL_MILLIS = 500;
+
+    private HttpServer server;
+    private final AtomicInteger received = new AtomicInteger();
+    // Number of the request the server stalls on, counting from one; zero never stalls
+    private volatile int stallAt;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/items", exchange -> {
+            if (received.incrementAndGet() == stallAt) {
+                sleep(STALL_MILLIS);
+            }
+            exchange.sendResponseHeaders(200, -1);
+            exchange.close();
+        });
+        // One handler thread: requests arriving during the stall queue behind it
+        server.setExecutor(Executors.newSingleThreadExecutor());
+        server.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.stop(0);
+    }
+
+    @Test
+    void aStalledServerShowsUpInThePercentilesWithoutLoweringTheOfferedLoad() throws InterruptedException {
+        OpenModelRunner runner = new OpenModelRunner(target(), 10_000, Duration.ofSeconds(10));
+        // The stall hits the first measured request; the warm-up second gets client and server
+        // code compiled, so on a small machine the backlog drains as fast as it would in steady state
+        stallAt = 201;
+
+        LoadReport report = runner.run(workload(), 200, Duration.ofSeconds(1), Duration.ofSeconds(2));
+
+        // Arrivals keep their schedule during the stall: every scheduled request is sent
+        assertEquals(400, report.getRequests() + report.getDropped());
+        assertEquals(0, report.getDropped());
+        // About a quarter of the run arrives during the stall and waits up to its length;
+        // a closed-model client would have sent one request and measured one slow response
+        assertTrue(report.getOverall().getP90() >= STALL_MILLIS * 0.2, "p90 " + report.getOverall().getP90());
+        assertTrue(report.getOverall().getMax() >= STALL_MILLIS * 0.9, "max " + report.getOverall().getMax());
+        assertTrue(report.getOverall().getP50() < STALL_MILLIS * 0.5, "p50 " + report.getOverall().getP50());
+    }
+
+    @Test
+    void requestsBeyondTheInFlightCapAreDroppedAndCountAsFailures() throws InterruptedException {
+        OpenModelRunner runner = new OpenModelRunner(target(), 1, Duration.ofSeconds(10));
+        stallAt = 1;
+
+        LoadReport report = runner.run(workload(), 100, Duration.ZERO, Duration.ofSeconds(1));
+
+        assertTrue(report.getDropped() >= 30, "dropped " + report.getDropped());
+        assertEquals(100, report.getRequests() + report.getDropped());
+        assertTrue(report.errorRate() >= 0.3, "error rate " + report.errorRate());
+    }
+
+    private String target() {
+        return "http://localhost:" + server.getAddress().getPort();
+    }
+
+    private static Workload workload() {
+        return Workload.of(List.of(new RequestTemplate("Get items", "GET", "/items", Map.of(), null)),
+            Map.of("GET", 1), null);
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
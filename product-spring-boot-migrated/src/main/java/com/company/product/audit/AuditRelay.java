@@ -0,0 +1,139 @@
+package com.company.product.audit;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.fasterxml.jackson.databind.util.RawValue;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * AuditRelay - Drains committed audit_outbox rows to the audit log in batches
+ *
+ * Each batch is appended with one group commit and only then deleted from the outbox, so a
+ * crash in between replays the batch on restart (at-least-once); every record carries its
+ * outboxId for de-duplication. Rows are deleted by id rather than by range because outbox
+ * ids can commit out of order under concurrent writers.
+ */
+public class AuditRelay implements DisposableBean {
+    
+    private static final Logger logger = LoggerFactory.getLogger(AuditRelay.class);
+    
+    private static final String SELECT_SQL =
+        "SELECT id, entity, entity_id, action, payload, created_at FROM audit_outbox ORDER BY id LIMIT ?";
+    
+    private final JdbcTemplate jdbcTemplate;
+    private final AuditLogWriter writer;
+    private final ObjectMapper objectMapper;
+    private final int batchSize;
+    private ScheduledExecutorService scheduler;
+    
+    public AuditRelay(JdbcTemplate jdbcTemplate, AuditLogWriter writer, ObjectMapper objectMapper, int batchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.writer = writer;
+        this.objectMapper = objectMapper;
+        this.batchSize = batchSize;
+    }
+    
+    // Drain the outbox on a background thread every interval
+    public synchronized void start(long pollIntervalMillis) {
+        if (scheduler != null) {
+            return;
+        }
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "audit-relay");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(this::drainQuietly, pollIntervalMillis, pollIntervalMillis, TimeUnit.MILLISECONDS);
+    }
+    
+    /**
+     * Relay batches until the outbox is empty; returns the number of rows relayed.
+     */
+    public synchronized int drain() {
+        int relayed = 0;
+        while (true) {
+            List<Map<String, Object>> rows = jdbcTemplate.queryForList(SELECT_SQL, batchSize);
+            if (rows.isEmpty()) {
+                return relayed;
+            }
+            
+            List<byte[]> records = new ArrayList<>(rows.size());
+            List<Object> ids = new ArrayList<>(rows.size());
+            for (Map<String, Object> row : rows) {
+                records.add(toRecord(row));
+                ids.add(row.get("id"));
+            }
+            try {
+                writer.append(records);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            
+            String placeholders = String.join(", ", Collections.nCopies(ids.size(), "?"));
+            jdbcTemplate.update("DELETE FROM audit_outbox WHERE id IN (" + placeholders + ")", ids.toArray());
+            relayed += rows.size();
+            if (rows.size() < batchSize) {
+                return relayed;
+            }
+        }
+    }
+    
+    private void drainQuietly() {
+        try {
+            drain();
+        } catch (RuntimeException e) {
+            // Rows stay in the outbox and are retried on the next poll
+            logger.warn("Audit relay failed, will retry: {}", e.getMessage());
+        }
+    }
+    
+    private byte[] toRecord(Map<String, Object> row) {
+        ObjectNode record = objectMapper.createObjectNode();
+        record.put("outboxId", ((Number) row.get("id")).longValue());
+        Object createdAt = row.get("created_at");
+        record.put("at", createdAt instanceof Timestamp ? ((Timestamp) createdAt).toInstant().toString() : String.valueOf(createdAt));
+        record.put("entity", (String) row.get("entity"));
+        record.put("entityId", ((Number) row.get("entity_id")).longValue());
+        record.put("action", (String) row.get("action"));
+        String payload = (String) row.get("payload");
+        if (payload != null) {
+            // Already JSON: embed without re-parsing
+            record.putRawValue("payload", new RawValue(payload));
+        } else {
+            record.putNull("payload");
+        }
+        try {
+            return objectMapper.writeValueAsBytes(record);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+    
+    // Stop polling and relay whatever is left before the log is closed
+    @Override
+    public void destroy() throws InterruptedException {
+        synchronized (this) {
+            if (scheduler != null) {
+                scheduler.shutdown();
+            }
+        }
+        if (scheduler != null) {
+            scheduler.awaitTermination(10, TimeUnit.SECONDS);
+        }
+        drainQuietly();
+    }
+}
@@ -0,0 +1,134 @@
+package com.company.product.cache;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.UncheckedIOException;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * JsonRowCache - Serialized JSON of individual rows, keyed by id
+ *
+ * Entries are capped by their total size in bytes and evicted least recently used first.
+ * Every invalidation bumps a write version; a caller captures version() before reading
+ * a row from the database and the serialized row is only cached if no write happened
+ * in between, so a slow reader can never re-insert a row that was just invalidated.
+ */
+public class JsonRowCache {
+
+    private static final byte OPEN = '[';
+    private static final byte COMMA = ',';
+    private static final byte CLOSE = ']';
+
+    private final ObjectMapper objectMapper;
+    private final long maxBytes;
+
+    // Access-ordered so iteration starts at the least recently used entry
+    private final LinkedHashMap<Long, byte[]> entries = new LinkedHashMap<>(256, 0.75f, true);
+    private long totalBytes;
+    private long version;
+
+    public JsonRowCache(ObjectMapper objectMapper, long maxBytes) {
+        this.objectMapper = objectMapper;
+        this.maxBytes = maxBytes;
+    }
+
+    // Current write version; capture before loading rows that will be passed to serialize()
+    public synchronized long version() {
+        return version;
+    }
+
+    public synchronized byte[] get(Long id) {
+        return entries.get(id);
+    }
+
+    /**
+     * Serialize a row loaded at the given version, caching the bytes if the row is still current.
+     */
+    public byte[] serialize(Long id, Object row, long loadedAtVersion) {
+        byte[] json;
+        try {
+            json = objectMapper.writeValueAsBytes(row);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+        put(id, json, loadedAtVersion);
+        return json;
+    }
+
+    /**
+     * Build a JSON array from rows loaded at the given version, reusing cached fragments.
+     * The result is sized exactly and filled with a single copy per row.
+     */
+    public <T> byte[] serializeArray(List<T> rows, Function<T, Long> idOf, long loadedAtVersion) {
+        byte[][] fragments = new byte[rows.size()][];
+        int length = 2 + Math.max(0, rows.size() - 1);
+        for (int i = 0; i < fragments.length; i++) {
+            T row = rows.get(i);
+            Long id = idOf.apply(row);
+            byte[] json = get(id);
+            if (json == null) {
+                json = serialize(id, row, loadedAtVersion);
+            }
+            fragments[i] = json;
+            length += json.length;
+        }
+
+        byte[] out = new byte[length];
+        out[0] = OPEN;
+        int pos = 1;
+        for (int i = 0; i < fragments.length; i++) {
+            if (i > 0) {
+                out[pos++] = COMMA;
+            }
+            System.arraycopy(fragments[i], 0, out, pos, fragments[i].length);
+            pos += fragments[i].length;
+        }
+        out[pos] = CLOSE;
+        return out;
+    }
+
+    // Drop a row after it was written or deleted
+    public synchronized void invalidate(Long id) {
+        version++;
+        byte[] removed = entries.remove(id);
+        if (removed != null) {
+            totalBytes -= removed.length;
+        }
+    }
+
+    public synchronized void clear() {
+        version++;
+        entries.clear();
+        totalBytes = 0;
+    }
+
+    public synchronized long totalBytes() {
+        return totalBytes;
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    private synchronized void put(Long id, byte[] json, long loadedAtVersion) {
+        if (id == null || loadedAtVersion != version || json.length > maxBytes) {
+            return;
+        }
+        byte[] previous = entries.put(id, json);
+        if (previous != null) {
+            totalBytes -= previous.length;
+        }
+        totalBytes += json.length;
+
+        Iterator<Map.Entry<Long, byte[]>> eldest = entries.entrySet().iterator();
+        while (totalBytes > maxBytes && eldest.hasNext()) {
+            totalBytes -= eldest.next().getValue().length;
+            eldest.remove();
+        }
+    }
+}
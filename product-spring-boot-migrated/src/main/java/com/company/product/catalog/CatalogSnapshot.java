@@ -0,0 +1,303 @@
+package com.company.product.catalog;
+
+import com.company.product.model.Product;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.RandomAccess;
+
+/**
+ * CatalogSnapshot - Immutable view of the whole products table
+ *
+ * Products are held in id order, split into blocks of up to MAX_BLOCK products. Each
+ * block keeps a primitive long[] of keys with a parallel Product[] and its own secondary
+ * indexes on category and active; point lookups are two binary searches. A snapshot is
+ * never modified after it is built: writers derive a new snapshot with withUpsert/withRemoval,
+ * which copies only the affected block and the block table, and publish it. Products
+ * handed out by a snapshot are shared and must not be modified by callers.
+ */
+public final class CatalogSnapshot {
+
+    // Blocks are built at this size and split once an insert takes them past MAX_BLOCK
+    static final int BLOCK_SIZE = 512;
+    static final int MAX_BLOCK = 2 * BLOCK_SIZE;
+
+    public static final CatalogSnapshot EMPTY = new CatalogSnapshot(new Block[0]);
+
+    private static final int[] NO_POSITIONS = new int[0];
+
+    private final Block[] blocks;
+    // first id of each block, for locating the block of an id
+    private final long[] firstIds;
+    // index of the first product of each block within the whole snapshot
+    private final int[] offsets;
+    private final int size;
+
+    private CatalogSnapshot(Block[] blocks) {
+        this.blocks = blocks;
+        this.firstIds = new long[blocks.length];
+        this.offsets = new int[blocks.length];
+        int size = 0;
+        for (int b = 0; b < blocks.length; b++) {
+            firstIds[b] = blocks[b].ids[0];
+            offsets[b] = size;
+            size += blocks[b].ids.length;
+        }
+        this.size = size;
+    }
+
+    /**
+     * Build a snapshot from rows in any order; later duplicates of an id win.
+     */
+    public static CatalogSnapshot of(List<Product> rows) {
+        Product[] sorted = rows.toArray(new Product[0]);
+        Arrays.sort(sorted, (a, b) -> Long.compare(a.getId(), b.getId()));
+
+        long[] ids = new long[sorted.length];
+        Product[] products = new Product[sorted.length];
+        int size = 0;
+        for (Product product : sorted) {
+            if (size > 0 && ids[size - 1] == product.getId()) {
+                products[size - 1] = product;
+            } else {
+                ids[size] = product.getId();
+                products[size] = product;
+                size++;
+            }
+        }
+
+        Block[] blocks = new Block[(size + BLOCK_SIZE - 1) / BLOCK_SIZE];
+        for (int b = 0; b < blocks.length; b++) {
+            int from = b * BLOCK_SIZE;
+            int to = Math.min(size, from + BLOCK_SIZE);
+            blocks[b] = new Block(Arrays.copyOfRange(ids, from, to), Arrays.copyOfRange(products, from, to));
+        }
+        return new CatalogSnapshot(blocks);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public Product get(long id) {
+        int b = blockOf(id);
+        if (b < 0) {
+            return null;
+        }
+        Block block = blocks[b];
+        int pos = Arrays.binarySearch(block.ids, id);
+        return pos >= 0 ? block.products[pos] : null;
+    }
+
+    // All products in id order
+    public List<Product> all() {
+        return new ProductList();
+    }
+
+    // Up to limit products with an id greater than afterId, in id order
+    public List<Product> page(long afterId, int limit) {
+        List<Product> page = new ArrayList<>(Math.max(0, Math.min(limit, size)));
+        int b = Math.max(0, blockOf(afterId));
+        for (; b < blocks.length && page.size() < limit; b++) {
+            Block block = blocks[b];
+            int pos = Arrays.binarySearch(block.ids, afterId);
+            int from = pos >= 0 ? pos + 1 : -pos - 1;
+            for (int i = from; i < block.ids.length && page.size() < limit; i++) {
+                page.add(block.products[i]);
+            }
+        }
+        return Collections.unmodifiableList(page);
+    }
+
+    // Products matching both filters; a null filter matches everything
+    public List<Product> filter(String category, Boolean active) {
+        if (category == null && active == null) {
+            return all();
+        }
+        List<Product> result = new ArrayList<>();
+        for (Block block : blocks) {
+            int[] byCategory = category != null ? block.categoryIndex.getOrDefault(category, NO_POSITIONS) : null;
+            int[] byActive = active != null ? (active ? block.activePositions : block.inactivePositions) : null;
+
+            int[] positions;
+            if (byCategory == null) {
+                positions = byActive;
+            } else if (byActive == null) {
+                positions = byCategory;
+            } else {
+                positions = intersect(byCategory, byActive);
+            }
+            for (int pos : positions) {
+                result.add(block.products[pos]);
+            }
+        }
+        return result;
+    }
+
+    // New snapshot with the product inserted or replaced
+    public CatalogSnapshot withUpsert(Product product) {
+        long id = product.getId();
+        if (blocks.length == 0) {
+            return new CatalogSnapshot(new Block[] {new Block(new long[] {id}, new Product[] {product})});
+        }
+        // Ids below the first block go to the front of the first block
+        int b = Math.max(0, blockOf(id));
+        Block block = blocks[b];
+        int pos = Arrays.binarySearch(block.ids, id);
+        if (pos >= 0) {
+            Product[] products = block.products.clone();
+            products[pos] = product;
+            return replace(b, new Block(block.ids, products));
+        }
+
+        int insertAt = -pos - 1;
+        long[] ids = new long[block.ids.length + 1];
+        Product[] products = new Product[block.products.length + 1];
+        System.arraycopy(block.ids, 0, ids, 0, insertAt);
+        System.arraycopy(block.products, 0, products, 0, insertAt);
+        ids[insertAt] = id;
+        products[insertAt] = product;
+        System.arraycopy(block.ids, insertAt, ids, insertAt + 1, block.ids.length - insertAt);
+        System.arraycopy(block.products, insertAt, products, insertAt + 1, block.products.length - insertAt);
+        if (ids.length <= MAX_BLOCK) {
+            return replace(b, new Block(ids, products));
+        }
+
+        int half = ids.length / 2;
+        return replace(b,
+            new Block(Arrays.copyOfRange(ids, 0, half), Arrays.copyOfRange(products, 0, half)),
+            new Block(Arrays.copyOfRange(ids, half, ids.length), Arrays.copyOfRange(products, half, ids.length)));
+    }
+
+    // New snapshot without the product; returns this snapshot if the id is absent
+    public CatalogSnapshot withRemoval(long id) {
+        int b = blockOf(id);
+        if (b < 0) {
+            return this;
+        }
+        Block block = blocks[b];
+        int pos = Arrays.binarySearch(block.ids, id);
+        if (pos < 0) {
+            return this;
+        }
+        if (block.ids.length == 1) {
+            return replace(b);
+        }
+        long[] ids = new long[block.ids.length - 1];
+        Product[] products = new Product[block.products.length - 1];
+        System.arraycopy(block.ids, 0, ids, 0, pos);
+        System.arraycopy(block.products, 0, products, 0, pos);
+        System.arraycopy(block.ids, pos + 1, ids, pos, ids.length - pos);
+        System.arraycopy(block.products, pos + 1, products, pos, products.length - pos);
+        return replace(b, new Block(ids, products));
+    }
+
+    // Index of the block whose range holds the id, or -1 when it is below every block
+    private int blockOf(long id) {
+        int pos = Arrays.binarySearch(firstIds, id);
+        return pos >= 0 ? pos : -pos - 2;
+    }
+
+    // New snapshot with block b replaced by zero or more blocks
+    private CatalogSnapshot replace(int b, Block... replacements) {
+        Block[] next = new Block[blocks.length - 1 + replacements.length];
+        System.arraycopy(blocks, 0, next, 0, b);
+        System.arraycopy(replacements, 0, next, b, replacements.length);
+        System.arraycopy(blocks, b + 1, next, b + replacements.length, blocks.length - b - 1);
+        return new CatalogSnapshot(next);
+    }
+
+    // Both inputs are ascending positions
+    private static int[] intersect(int[] a, int[] b) {
+        int[] out = new int[Math.min(a.length, b.length)];
+        int i = 0, j = 0, n = 0;
+        while (i < a.length && j < b.length) {
+            if (a[i] < b[j]) {
+                i++;
+            } else if (a[i] > b[j]) {
+                j++;
+            } else {
+                out[n++] = a[i];
+                i++;
+                j++;
+            }
+        }
+        return Arrays.copyOf(out, n);
+    }
+
+    // Run of products in id order with the secondary indexes over it
+    private static final class Block {
+        final long[] ids;
+        final Product[] products;
+        final Map<String, int[]> categoryIndex;
+        final int[] activePositions;
+        final int[] inactivePositions;
+
+        Block(long[] ids, Product[] products) {
+            this.ids = ids;
+            this.products = products;
+
+            Map<String, IntList> byCategory = new HashMap<>();
+            IntList active = new IntList();
+            IntList inactive = new IntList();
+            for (int i = 0; i < products.length; i++) {
+                Product product = products[i];
+                if (product.getCategory() != null) {
+                    byCategory.computeIfAbsent(product.getCategory(), c -> new IntList()).add(i);
+                }
+                if (Boolean.TRUE.equals(product.getActive())) {
+                    active.add(i);
+                } else {
+                    inactive.add(i);
+                }
+            }
+            Map<String, int[]> categoryIndex = new HashMap<>(byCategory.size() * 2);
+            for (Map.Entry<String, IntList> entry : byCategory.entrySet()) {
+                categoryIndex.put(entry.getKey(), entry.getValue().toArray());
+            }
+            this.categoryIndex = categoryIndex;
+            this.activePositions = active.toArray();
+            this.inactivePositions = inactive.toArray();
+        }
+    }
+
+    // Read-only list view over the blocks
+    private final class ProductList extends AbstractList<Product> implements RandomAccess {
+        @Override
+        public Product get(int index) {
+            if (index < 0 || index >= size) {
+                throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+            }
+            int pos = Arrays.binarySearch(offsets, index);
+            int b = pos >= 0 ? pos : -pos - 2;
+            // Offsets repeat only for empty blocks, which are never kept
+            return blocks[b].products[index - offsets[b]];
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+    }
+
+    private static final class IntList {
+        private int[] values = new int[8];
+        private int size;
+
+        void add(int value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+
+        int[] toArray() {
+            return Arrays.copyOf(values, size);
+        }
+    }
+}
@@ -0,0 +1,145 @@
+package com.company.product.catalog;
+
+import com.company.product.model.Product;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * ProductCatalog - Read-optimized in-memory copy of the products table
+ *
+ * Readers take the current CatalogSnapshot without locking. Writers update the
+ * database first and then publish a new snapshot derived from the current one;
+ * publishing is serialized so concurrent writes cannot lose each other's changes, and
+ * each publish copies only the block of the snapshot that changed.
+ * Enabled with app.catalog.snapshot-mode=true.
+ */
+@Component
+@ConditionalOnProperty(name = "app.catalog.snapshot-mode", havingValue = "true")
+public class ProductCatalog {
+
+    private static final Logger logger = LoggerFactory.getLogger(ProductCatalog.class);
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Value("${app.catalog.load-page-size:10000}")
+    private int pageSize;
+
+    @Value("${app.catalog.load-threads:4}")
+    private int loadThreads;
+
+    private final AtomicReference<CatalogSnapshot> current = new AtomicReference<>(CatalogSnapshot.EMPTY);
+
+    public CatalogSnapshot snapshot() {
+        return current.get();
+    }
+
+    /**
+     * Load the whole table as load-threads id ranges read in parallel, each in keyset pages of
+     * load-page-size rows, then publish it as one snapshot.
+     */
+    public void load(RowMapper<Product> rowMapper) {
+        long started = System.nanoTime();
+        List<long[]> ranges = idRanges(Math.max(1, loadThreads));
+
+        ExecutorService executor = Executors.newFixedThreadPool(ranges.size());
+        try {
+            List<CompletableFuture<List<Product>>> chunks = new ArrayList<>();
+            for (long[] range : ranges) {
+                chunks.add(CompletableFuture.supplyAsync(() -> loadRange(rowMapper, range[0], range[1]), executor));
+            }
+            List<Product> rows = new ArrayList<>();
+            for (CompletableFuture<List<Product>> chunk : chunks) {
+                rows.addAll(chunk.join());
+            }
+            publish(CatalogSnapshot.of(rows));
+        } finally {
+            executor.shutdown();
+        }
+
+        logger.info("Loaded {} products into the catalog snapshot from {} ranges in {} ms",
+            current.get().size(), ranges.size(), (System.nanoTime() - started) / 1_000_000);
+    }
+
+    // Inclusive id ranges covering every long, split at ids sampled at even row offsets so each
+    // range holds about the same number of rows however sparse or skewed the ids are
+    private List<long[]> idRanges(int count) {
+        long rows = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM products", Long.class);
+        List<long[]> ranges = new ArrayList<>();
+        long lower = Long.MIN_VALUE;
+        for (int i = 1; i < count && rows >= count; i++) {
+            List<Long> boundary = jdbcTemplate.queryForList(
+                "SELECT id FROM products ORDER BY id LIMIT 1 OFFSET ?", Long.class, rows * i / count);
+            if (boundary.isEmpty() || boundary.get(0) <= lower) {
+                continue;
+            }
+            ranges.add(new long[] {lower, boundary.get(0) - 1});
+            lower = boundary.get(0);
+        }
+        ranges.add(new long[] {lower, Long.MAX_VALUE});
+        return ranges;
+    }
+
+    private List<Product> loadRange(RowMapper<Product> rowMapper, long from, long to) {
+        int limit = Math.max(1, pageSize);
+        List<Product> rows = new ArrayList<>();
+        long lower = from;
+        while (true) {
+            // Seeking past the last id keeps pages full however sparse the ids are
+            List<Product> page = jdbcTemplate.query(
+                "SELECT * FROM products WHERE id >= ? AND id <= ? ORDER BY id LIMIT ?", rowMapper, lower, to, limit);
+            rows.addAll(page);
+            if (page.size() < limit) {
+                return rows;
+            }
+            // The last id is below to, which is at most Long.MAX_VALUE, so this cannot overflow
+            lower = page.get(page.size() - 1).getId() + 1;
+        }
+    }
+
+    // Publish rows loaded elsewhere (e.g. gathered from the shards) as the whole catalog
+    public void load(List<Product> rows) {
+        publish(CatalogSnapshot.of(rows));
+        logger.info("Loaded {} products into the catalog snapshot", current.get().size());
+    }
+
+    // Publish a product that was just written to the database
+    public synchronized void publishUpsert(Product product) {
+        current.set(current.get().withUpsert(copyOf(product)));
+    }
+
+    // Publish the removal of a product that was just deleted from the database
+    public synchronized void publishRemoval(long id) {
+        current.set(current.get().withRemoval(id));
+    }
+
+    private synchronized void publish(CatalogSnapshot snapshot) {
+        current.set(snapshot);
+    }
+
+    // Snapshots share their products with readers, so never keep the caller's instance
+    private static Product copyOf(Product source) {
+        Product copy = new Product();
+        copy.setId(source.getId());
+        copy.setName(source.getName());
+        copy.setDescription(source.getDescription());
+        copy.setPrice(source.getPrice());
+        copy.setCategory(source.getCategory());
+        copy.setStock(source.getStock());
+        copy.setActive(source.getActive());
+        return copy;
+    }
+}
@@ -0,0 +1,19 @@
+package com.company.product.config;
+
+import com.company.product.export.ArrowTableExporter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class ArrowConfig {
+    
+    // Arrow IPC export endpoint, off unless app.arrow.enabled=true
+    @Bean
+    @ConditionalOnProperty(name = "app.arrow.enabled", havingValue = "true")
+    public ArrowTableExporter arrowTableExporter(@Value("${app.arrow.batch-size:8192}") int batchSize,
+                                                 @Value("${app.arrow.max-batch-memory:67108864}") long maxBatchMemory) {
+        return new ArrowTableExporter(batchSize, maxBatchMemory);
+    }
+}
@@ -0,0 +1,26 @@
+package com.company.product.config;
+
+import com.company.product.idempotency.IdempotencyStore;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Configuration
+public class IdempotencyConfig {
+    
+    // Idempotency-Key handling for POST/PUT, only when app.idempotency.enabled=true
+    @Bean
+    @ConditionalOnProperty(name = "app.idempotency.enabled", havingValue = "true")
+    public IdempotencyStore idempotencyStore(ObjectMapper objectMapper, MeterRegistry meterRegistry,
+                                             @Value("${app.idempotency.ttl-seconds:3600}") long ttlSeconds,
+                                             @Value("${app.idempotency.max-bytes:16777216}") long maxBytes,
+                                             @Value("${app.idempotency.wait-timeout-ms:30000}") long waitTimeoutMillis) {
+        return new IdempotencyStore(objectMapper, meterRegistry, Duration.ofSeconds(ttlSeconds), maxBytes,
+            Duration.ofMillis(waitTimeoutMillis));
+    }
+}
@@ -0,0 +1,29 @@
+package com.company.product.config;
+
+import com.company.product.json.ProductJsonSerializer;
+import com.company.product.model.Product;
+import com.fasterxml.jackson.databind.Module;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class JsonConfig {
+    
+    // Bytecode-generated property accessors instead of reflection; Module beans are
+    // installed into Spring Boot's ObjectMapper alongside its defaults
+    @Bean
+    @ConditionalOnProperty(name = "app.json.blackbird", havingValue = "true")
+    public Module blackbirdModule() {
+        return new BlackbirdModule();
+    }
+    
+    // Hand-written Product serializer replacing the reflective bean serializer
+    @Bean
+    @ConditionalOnProperty(name = "app.json.entity-serializers", havingValue = "true")
+    public Module productSerializerModule() {
+        return new SimpleModule("ProductSerializer").addSerializer(Product.class, new ProductJsonSerializer());
+    }
+}
@@ -0,0 +1,72 @@
+package com.company.product.config;
+
+import com.company.product.routing.ReadRoutingAspect;
+import com.company.product.routing.ReadWriteRoutingDataSource;
+import com.company.product.routing.ReadYourWritesTracker;
+import com.company.product.routing.ReplicaPool;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+@Configuration
+@ConditionalOnProperty(name = "app.routing.enabled", havingValue = "true")
+public class RoutingConfig {
+    
+    private static final Logger logger = LoggerFactory.getLogger(RoutingConfig.class);
+    
+    // One pooled DataSource per replica URL, health-checked in the background
+    @Bean
+    public ReplicaPool replicaPool(@Value("${app.routing.replica-urls}") List<String> urls,
+                                   @Value("${app.routing.username:sa}") String username,
+                                   @Value("${app.routing.password:}") String password,
+                                   @Value("${app.routing.health-check-interval-ms:5000}") long healthCheckInterval,
+                                   @Value("${app.routing.initialize-replicas:false}") boolean initializeReplicas,
+                                   @Value("${app.json-cache.enabled:false}") boolean jsonCache) {
+        if (jsonCache) {
+            logger.warn("app.json-cache.enabled is ignored while app.routing.enabled is set: replica reads would fill it with stale rows");
+        }
+        List<DataSource> replicas = new ArrayList<>();
+        for (String url : urls) {
+            DataSource replica = DataSourceBuilder.create().url(url.trim()).username(username).password(password).build();
+            if (initializeReplicas) {
+                // Local stand-ins (e.g. H2) have no replication, so seed them like the primary
+                new ResourceDatabasePopulator(new ClassPathResource("schema.sql")).execute(replica);
+            }
+            replicas.add(replica);
+        }
+        
+        ReplicaPool pool = new ReplicaPool(replicas, 1);
+        pool.startHealthChecks(healthCheckInterval);
+        logger.info("Routing reads across {} replicas", pool.size());
+        return pool;
+    }
+    
+    // The primary from spring.datasource behind a router; JdbcTemplate and schema.sql pick this up
+    @Bean
+    @Primary
+    public DataSource dataSource(DataSourceProperties properties, ReplicaPool replicaPool) {
+        DataSource primary = properties.initializeDataSourceBuilder().build();
+        return new ReadWriteRoutingDataSource(primary, replicaPool);
+    }
+    
+    @Bean
+    public ReadRoutingAspect readRoutingAspect(@Value("${app.routing.read-your-writes-ms:0}") long readYourWritesMillis) {
+        ReadYourWritesTracker tracker = readYourWritesMillis > 0
+            ? new ReadYourWritesTracker(Duration.ofMillis(readYourWritesMillis))
+            : null;
+        return new ReadRoutingAspect(tracker);
+    }
+}
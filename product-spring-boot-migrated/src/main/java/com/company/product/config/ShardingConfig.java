@@ -0,0 +1,39 @@
+package com.company.product.config;
+
+import com.company.product.shard.ShardedProductStore;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.io.ClassPathResource;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+
+@Configuration
+@ConditionalOnProperty(name = "app.sharding.enabled", havingValue = "true")
+public class ShardingConfig {
+    
+    private static final Logger logger = LoggerFactory.getLogger(ShardingConfig.class);
+    
+    // One pooled DataSource per configured shard URL; the products table is created on each
+    @Bean
+    public ShardedProductStore shardedProductStore(@Value("${app.sharding.urls}") List<String> urls,
+                                                   @Value("${app.sharding.username:sa}") String username,
+                                                   @Value("${app.sharding.password:}") String password,
+                                                   @Value("${app.sharding.scatter-threads:0}") int scatterThreads) {
+        List<DataSource> dataSources = new ArrayList<>();
+        for (String url : urls) {
+            dataSources.add(DataSourceBuilder.create().url(url.trim()).username(username).password(password).build());
+        }
+        
+        ShardedProductStore store = new ShardedProductStore(dataSources, scatterThreads > 0 ? scatterThreads : urls.size());
+        store.initializeSchema(new ClassPathResource("schema-shard.sql"));
+        logger.info("Sharding products across {} databases", store.shardCount());
+        return store;
+    }
+}
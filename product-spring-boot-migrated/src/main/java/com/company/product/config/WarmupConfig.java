@@ -0,0 +1,53 @@
+package com.company.product.config;
+
+import com.company.product.cache.JsonRowCache;
+import com.company.product.service.ProductService;
+import com.company.product.warmup.HotKeyTracker;
+import com.company.product.warmup.WarmupRunner;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.List;
+
+@Configuration
+@ConditionalOnProperty(name = "app.warmup.enabled", havingValue = "true")
+public class WarmupConfig {
+    
+    @Autowired(required = false)
+    private JsonRowCache jsonRowCache;
+    
+    @Bean
+    public HotKeyTracker hotKeyTracker(@Value("${app.warmup.hot-keys-file:./data/hot-products.txt}") String file,
+                                       @Value("${app.warmup.hot-keys:1000}") int maxKeys) {
+        return new HotKeyTracker(Paths.get(file), maxKeys);
+    }
+    
+    // Readiness stays REFUSING_TRAFFIC until this runner returns
+    @Bean
+    public WarmupRunner warmupRunner(ApplicationContext context, DataSource dataSource, HotKeyTracker hotKeyTracker,
+                                     ProductService productService,
+                                     @Value("${app.warmup.paths:/products?limit=100}") List<String> paths,
+                                     @Value("${app.warmup.connections:10}") int connections,
+                                     @Value("${app.warmup.target-p99-ms:25}") long targetP99Ms,
+                                     @Value("${app.warmup.round-requests:200}") int roundRequests,
+                                     @Value("${app.warmup.stable-rounds:3}") int stableRounds,
+                                     @Value("${app.warmup.max-duration-ms:120000}") long maxDurationMs) {
+        return new WarmupRunner(context, dataSource, hotKeyTracker, id -> {
+            // Version read before the lookup, so a write racing the priming cannot be cached stale
+            long version = jsonRowCache != null ? jsonRowCache.version() : 0;
+            productService.findProductById(id).ifPresent(product -> {
+                if (jsonRowCache != null) {
+                    jsonRowCache.serialize(id, product, version);
+                }
+            });
+        }, "/products/", paths, connections, Duration.ofMillis(targetP99Ms), roundRequests, stableRounds,
+            Duration.ofMillis(maxDurationMs));
+    }
+}
@@ -1,14 +1,26 @@
 package com.company.product.controller;
 
+import com.company.product.cache.JsonRowCache;
+import com.company.product.exception.InvalidRequestException;
+import com.company.product.exception.ResourceNotFoundException;
+import com.company.product.exception.Problem;
+import com.company.product.export.ArrowTableExporter;
+import com.company.product.idempotency.IdempotencyStore;
 import com.company.product.model.*;
 import com.company.product.service.*;
+import com.company.product.warmup.HotKeyTracker;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 
 /**
  * Product Controller
@@ -19,41 +31,151 @@ import java.util.List;
 @Validated
 public class ProductController {
     
+    private static final int MAX_PAGE_SIZE = 1000;
+    
     @Autowired(required = false)
     private ProductService productService;
     
+    @Autowired(required = false)
+    private JsonRowCache jsonRowCache;
+    
+    @Autowired(required = false)
+    private IdempotencyStore idempotencyStore;
+    
+    @Autowired(required = false)
+    private ArrowTableExporter arrowExporter;
+    
+    @Autowired(required = false)
+    private HotKeyTracker hotKeys;
+    
     @GetMapping
-    public ResponseEntity<List<Product>> getAll() {
+    public ResponseEntity<?> getAll(@RequestParam(required = false) String fields,
+                                    @RequestParam(required = false) String category,
+                                    @RequestParam(required = false) Boolean active,
+                                    @RequestParam(required = false) Long afterId,
+                                    @RequestParam(required = false) Integer limit) {
         if (productService != null) {
+            if (afterId != null || limit != null) {
+                if (fields != null || category != null || active != null) {
+                    throw new InvalidRequestException("afterId/limit cannot be combined with fields or filters");
+                }
+                int pageSize = Math.max(1, Math.min(limit != null ? limit : 100, MAX_PAGE_SIZE));
+                List<Product> page = productService.getProductsPage(afterId != null ? afterId : 0L, pageSize);
+                
+                // A full page means there may be more rows: hand back the cursor for the next one
+                ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+                if (page.size() == pageSize) {
+                    response.header("X-Next-Cursor", String.valueOf(page.get(page.size() - 1).getId()));
+                }
+                return response.body(page);
+            }
+            if (category != null || active != null) {
+                if (fields != null) {
+                    throw new InvalidRequestException("fields cannot be combined with category/active filters");
+                }
+                return ResponseEntity.ok(productService.getProductsByStatus(category, active));
+            }
+            if (fields != null) {
+                return ResponseEntity.ok(productService.getAllProducts(fields));
+            }
+            if (jsonRowCache != null) {
+                long version = jsonRowCache.version();
+                List<Product> rows = productService.getAllProducts();
+                return json(jsonRowCache.serializeArray(rows, Product::getId, version));
+            }
             return ResponseEntity.ok(productService.getAllProducts());
         }
         return ResponseEntity.ok(List.of());
     }
     
+    @GetMapping("/search")
+    public ResponseEntity<List<Product>> search(@RequestParam("q") String query,
+                                                @RequestParam(defaultValue = "50") int limit) {
+        if (productService != null) {
+            return ResponseEntity.ok(productService.searchProducts(query, limit));
+        }
+        return ResponseEntity.ok(List.of());
+    }
+    
+    // Whole table as an Arrow IPC stream, written batch by batch as rows are read
+    @GetMapping("/export.arrow")
+    public ResponseEntity<StreamingResponseBody> exportArrow() {
+        if (productService == null || arrowExporter == null) {
+            throw new ResourceNotFoundException("Arrow export is disabled");
+        }
+        StreamingResponseBody body = out -> productService.exportProductsArrow(out);
+        return ResponseEntity.ok()
+            .contentType(MediaType.parseMediaType(ArrowTableExporter.MEDIA_TYPE))
+            .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"products.arrow\"")
+            .body(body);
+    }
+    
     @GetMapping("/{id}")
-    public ResponseEntity<Product> getById(@PathVariable Long id) {
+    public ResponseEntity<?> getById(@PathVariable Long id, @RequestParam(required = false) String fields) {
         if (productService != null) {
-            return ResponseEntity.ok(productService.getProductById(id));
+            // Not found is the common case for scanners probing ids, so it is answered without exceptions
+            if (fields != null) {
+                Optional<Map<String, Object>> row = productService.findProductById(id, fields);
+                return row.isPresent() ? found(id, row.get()) : notFound(id);
+            }
+            if (jsonRowCache != null) {
+                byte[] cached = jsonRowCache.get(id);
+                if (cached == null) {
+                    long version = jsonRowCache.version();
+                    Optional<Product> product = productService.findProductById(id);
+                    if (product.isEmpty()) {
+                        return notFound(id);
+                    }
+                    cached = jsonRowCache.serialize(id, product.get(), version);
+                }
+                recordHit(id);
+                return json(cached);
+            }
+            Optional<Product> product = productService.findProductById(id);
+            return product.isPresent() ? found(id, product.get()) : notFound(id);
+        }
+        return notFound(id);
+    }
+    
+    private ResponseEntity<Object> found(Long id, Object body) {
+        recordHit(id);
+        return ResponseEntity.ok(body);
+    }
+    
+    // Feeds the hot key list the next start primes during warm-up
+    private void recordHit(Long id) {
+        if (hotKeys != null) {
+            hotKeys.record(id);
         }
-        return ResponseEntity.notFound().build();
     }
     
     @PostMapping
-    public ResponseEntity<Product> create(@RequestBody Product entity) {
-        try {
-            if (productService != null) {
-                Product created = productService.createProduct(entity);
-                return new ResponseEntity<>(created, HttpStatus.CREATED);
-            }
-            return new ResponseEntity<>(entity, HttpStatus.CREATED);
-        } catch (Exception e) {
-            // Return the entity with generated ID even if there's an issue
-            return new ResponseEntity<>(entity, HttpStatus.CREATED);
+    public ResponseEntity<Product> create(@RequestBody Product entity,
+                                          @RequestHeader(value = IdempotencyStore.HEADER, required = false) String idempotencyKey) {
+        if (idempotencyKey != null && idempotencyStore != null) {
+            return idempotencyStore.execute("POST /products", idempotencyKey, entity, () -> createOnce(entity));
+        }
+        return createOnce(entity);
+    }
+    
+    private ResponseEntity<Product> createOnce(Product entity) {
+        if (productService != null) {
+            Product created = productService.createProduct(entity);
+            return new ResponseEntity<>(created, HttpStatus.CREATED);
         }
+        return new ResponseEntity<>(entity, HttpStatus.CREATED);
     }
     
     @PutMapping("/{id}")
-    public ResponseEntity<Product> update(@PathVariable Long id, @RequestBody Product entity) {
+    public ResponseEntity<Product> update(@PathVariable Long id, @RequestBody Product entity,
+                                          @RequestHeader(value = IdempotencyStore.HEADER, required = false) String idempotencyKey) {
+        if (idempotencyKey != null && idempotencyStore != null) {
+            return idempotencyStore.execute("PUT /products/" + id, idempotencyKey, entity, () -> updateOnce(id, entity));
+        }
+        return updateOnce(id, entity);
+    }
+    
+    private ResponseEntity<Product> updateOnce(Long id, Product entity) {
         if (productService != null) {
             return ResponseEntity.ok(productService.updateProduct(id, entity));
         }
@@ -68,4 +190,13 @@ public class ProductController {
         }
         return ResponseEntity.noContent().build();
     }
+    
+    private static ResponseEntity<Problem> notFound(Long id) {
+        return Problem.response(HttpStatus.NOT_FOUND, "Product not found with id: " + id, "/products/" + id);
+    }
+    
+    // Write pre-serialized JSON as the response body as-is
+    private static ResponseEntity<byte[]> json(byte[] body) {
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(body);
+    }
 }
\ No newline at end of file
@@ -0,0 +1,52 @@
+package com.company.product.exception;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+
+/**
+ * Problem - JSON error body in the RFC 7807 problem format, used for every error response
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class Problem {
+    
+    public static final MediaType MEDIA_TYPE = MediaType.valueOf("application/problem+json");
+    
+    private final String type = "about:blank";
+    private final String title;
+    private final int status;
+    private final String detail;
+    private final String instance;
+    
+    public Problem(HttpStatus status, String detail, String instance) {
+        this.title = status.getReasonPhrase();
+        this.status = status.value();
+        this.detail = detail;
+        this.instance = instance;
+    }
+    
+    public static ResponseEntity<Problem> response(HttpStatus status, String detail, String instance) {
+        return ResponseEntity.status(status).contentType(MEDIA_TYPE).body(new Problem(status, detail, instance));
+    }
+    
+    public String getType() {
+        return type;
+    }
+    
+    public String getTitle() {
+        return title;
+    }
+    
+    public int getStatus() {
+        return status;
+    }
+    
+    public String getDetail() {
+        return detail;
+    }
+    
+    public String getInstance() {
+        return instance;
+    }
+}
@@ -0,0 +1,209 @@
+package com.company.product.idempotency;
+
+import com.company.product.exception.IdempotencyConflictException;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import org.springframework.http.ResponseEntity;
+
+import java.io.UncheckedIOException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * IdempotencyStore - Responses of POST/PUT requests carrying an Idempotency-Key, replayed on retries
+ *
+ * The first request with a key runs the service call; a retry arriving while it is in flight
+ * waits for its response, and a later retry gets the stored response without touching the
+ * database. Keys are scoped by method and path and bound to a fingerprint of the request
+ * body, so reusing a key for a different payload is rejected. Failed calls are not stored,
+ * letting the client retry them. Completed responses expire after the TTL and the oldest are
+ * evicted first once the estimated size of their stored responses passes the memory cap.
+ */
+public class IdempotencyStore {
+    
+    public static final String HEADER = "Idempotency-Key";
+    
+    // Rough fixed cost of an entry (map node, future, response object) on top of its response body
+    private static final int ENTRY_OVERHEAD_BYTES = 256;
+    
+    private final ObjectMapper objectMapper;
+    private final long ttlNanos;
+    private final long maxBytes;
+    private final long waitTimeoutMillis;
+    
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+    // Completed entries in completion order, which with a fixed TTL is also expiry order
+    private final Queue<String> completionOrder = new ConcurrentLinkedQueue<>();
+    private final AtomicLong totalBytes = new AtomicLong();
+    
+    private final Counter executed;
+    private final Counter replayed;
+    private final Counter awaited;
+    private final Counter rejected;
+    
+    public IdempotencyStore(ObjectMapper objectMapper, MeterRegistry meterRegistry,
+                            Duration ttl, long maxBytes, Duration waitTimeout) {
+        this.objectMapper = objectMapper;
+        this.ttlNanos = ttl.toNanos();
+        this.maxBytes = maxBytes;
+        this.waitTimeoutMillis = waitTimeout.toMillis();
+        this.executed = counter(meterRegistry, "executed");
+        this.replayed = counter(meterRegistry, "replayed");
+        this.awaited = counter(meterRegistry, "awaited");
+        this.rejected = counter(meterRegistry, "rejected");
+        meterRegistry.gauge("idempotency.store.bytes", totalBytes);
+        meterRegistry.gaugeMapSize("idempotency.store.entries", Tags.empty(), entries);
+    }
+    
+    private static Counter counter(MeterRegistry registry, String outcome) {
+        return Counter.builder("idempotency.requests")
+            .description("Requests carrying an Idempotency-Key, by outcome")
+            .tag("outcome", outcome)
+            .register(registry);
+    }
+    
+    /**
+     * Run the action once per (scope, key); duplicates get the original response.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> ResponseEntity<T> execute(String scope, String key, Object requestBody, Supplier<ResponseEntity<T>> action) {
+        String storeKey = scope + ' ' + key;
+        byte[] body = serialize(requestBody);
+        Entry fresh = new Entry(fingerprint(body));
+        
+        while (true) {
+            Entry existing = entries.putIfAbsent(storeKey, fresh);
+            if (existing == null) {
+                return (ResponseEntity<T>) run(storeKey, fresh, action);
+            }
+            if (existing.isExpired(System.nanoTime())) {
+                remove(storeKey, existing);
+                continue;
+            }
+            if (!Arrays.equals(existing.fingerprint, fresh.fingerprint)) {
+                rejected.increment();
+                throw new IdempotencyConflictException("Idempotency-Key " + key + " was already used with a different request body");
+            }
+            return (ResponseEntity<T>) await(key, existing);
+        }
+    }
+    
+    private ResponseEntity<?> run(String storeKey, Entry entry, Supplier<? extends ResponseEntity<?>> action) {
+        executed.increment();
+        ResponseEntity<?> response;
+        try {
+            response = action.get();
+        } catch (RuntimeException | Error e) {
+            // Forget the key so the client can retry; waiting duplicates fail the same way
+            entries.remove(storeKey, entry);
+            entry.expiresAt = System.nanoTime();
+            entry.response.completeExceptionally(e);
+            throw e;
+        }
+        entry.estimatedBytes = serialize(response.getBody()).length + storeKey.length() * 2L + ENTRY_OVERHEAD_BYTES;
+        entry.expiresAt = System.nanoTime() + ttlNanos;
+        entry.response.complete(response);
+        completionOrder.add(storeKey);
+        totalBytes.addAndGet(entry.estimatedBytes);
+        evict();
+        return response;
+    }
+    
+    private ResponseEntity<?> await(String key, Entry entry) {
+        if (entry.response.isDone()) {
+            replayed.increment();
+        } else {
+            awaited.increment();
+        }
+        try {
+            return entry.response.get(waitTimeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            throw new IdempotencyConflictException("A request with Idempotency-Key " + key + " is still in progress");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IdempotencyConflictException("Interrupted while waiting for Idempotency-Key " + key);
+        } catch (ExecutionException e) {
+            // The original call failed: surface its error to the duplicate as well
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            if (e.getCause() instanceof Error) {
+                throw (Error) e.getCause();
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+    
+    // Drop expired entries, then the oldest ones while over the memory cap
+    private void evict() {
+        long now = System.nanoTime();
+        String oldest;
+        while ((oldest = completionOrder.peek()) != null) {
+            Entry entry = entries.get(oldest);
+            boolean stale = entry == null || !entry.response.isDone();
+            if (!stale && !entry.isExpired(now) && totalBytes.get() <= maxBytes) {
+                return;
+            }
+            if (completionOrder.remove(oldest) && entry != null && entry.response.isDone()) {
+                remove(oldest, entry);
+            }
+        }
+    }
+    
+    private void remove(String storeKey, Entry entry) {
+        if (entries.remove(storeKey, entry) && entry.response.isDone() && !entry.response.isCompletedExceptionally()) {
+            totalBytes.addAndGet(-entry.estimatedBytes);
+        }
+    }
+    
+    public int size() {
+        return entries.size();
+    }
+    
+    private byte[] serialize(Object body) {
+        try {
+            return objectMapper.writeValueAsBytes(body);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+    
+    private static byte[] fingerprint(byte[] body) {
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(body);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+    
+    private static final class Entry {
+        final byte[] fingerprint;
+        final CompletableFuture<ResponseEntity<?>> response = new CompletableFuture<>();
+        // Both set once the response completes, sized from what the entry actually holds
+        volatile long estimatedBytes;
+        volatile long expiresAt = Long.MAX_VALUE;
+        
+        Entry(byte[] fingerprint) {
+            this.fingerprint = fingerprint;
+        }
+        
+        boolean isExpired(long now) {
+            return response.isDone() && now - expiresAt > 0;
+        }
+    }
+}
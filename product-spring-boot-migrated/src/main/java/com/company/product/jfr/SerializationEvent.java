@@ -0,0 +1,27 @@
+package com.company.product.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Jackson writing a response body.
+ */
+@Name("com.company.api.Serialization")
+@Label("API Serialization")
+@Category({"Company API", "Serialization"})
+@Description("Jackson serialization of a response body to the servlet output stream")
+@StackTrace(false)
+public class SerializationEvent extends jdk.jfr.Event {
+
+    @Label("Route")
+    public String route;
+
+    @Label("Entity")
+    public String entity;
+
+    @Label("Row Count")
+    public long rowCount;
+}
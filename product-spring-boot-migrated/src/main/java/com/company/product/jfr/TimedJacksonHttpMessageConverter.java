@@ -0,0 +1,46 @@
+package com.company.product.jfr;
+
+import com.company.product.json.CachedWriterJacksonHttpMessageConverter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.converter.HttpMessageNotWritableException;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.util.Collection;
+
+/**
+ * Jackson message converter that emits a SerializationEvent per response body.
+ */
+public class TimedJacksonHttpMessageConverter extends CachedWriterJacksonHttpMessageConverter {
+
+    public TimedJacksonHttpMessageConverter(ObjectMapper objectMapper) {
+        super(objectMapper);
+    }
+
+    @Override
+    protected void writeInternal(Object object, Type type, HttpOutputMessage outputMessage)
+            throws IOException, HttpMessageNotWritableException {
+        SerializationEvent event = new SerializationEvent();
+        if (!event.isEnabled()) {
+            super.writeInternal(object, type, outputMessage);
+            return;
+        }
+
+        event.begin();
+        super.writeInternal(object, type, outputMessage);
+        event.end();
+        if (event.shouldCommit()) {
+            event.route = ApiEvents.currentRoute();
+            if (object instanceof Collection) {
+                Collection<?> rows = (Collection<?>) object;
+                event.rowCount = rows.size();
+                event.entity = rows.isEmpty() ? "" : rows.iterator().next().getClass().getSimpleName();
+            } else {
+                event.rowCount = 1;
+                event.entity = object.getClass().getSimpleName();
+            }
+            event.commit();
+        }
+    }
+}
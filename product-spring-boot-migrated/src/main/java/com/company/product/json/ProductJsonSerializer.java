@@ -0,0 +1,50 @@
+package com.company.product.json;
+
+import com.company.product.model.Product;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+import java.io.IOException;
+
+/**
+ * ProductJsonSerializer - Hand-written Product serializer with no per-property dispatch
+ *
+ * Produces the same document as the default bean serializer (same property order, nulls
+ * written); a new Product field must be added here as well.
+ */
+public class ProductJsonSerializer extends StdSerializer<Product> {
+
+    public ProductJsonSerializer() {
+        super(Product.class);
+    }
+
+    @Override
+    public void serialize(Product product, JsonGenerator generator, SerializerProvider provider) throws IOException {
+        generator.writeStartObject(product);
+        writeNumber(generator, "id", product.getId());
+        generator.writeStringField("name", product.getName());
+        generator.writeStringField("description", product.getDescription());
+        if (product.getPrice() != null) {
+            generator.writeNumberField("price", product.getPrice());
+        } else {
+            generator.writeNullField("price");
+        }
+        generator.writeStringField("category", product.getCategory());
+        writeNumber(generator, "stock", product.getStock());
+        if (product.getActive() != null) {
+            generator.writeBooleanField("active", product.getActive());
+        } else {
+            generator.writeNullField("active");
+        }
+        generator.writeEndObject();
+    }
+
+    private static void writeNumber(JsonGenerator generator, String name, Long value) throws IOException {
+        if (value != null) {
+            generator.writeNumberField(name, value);
+        } else {
+            generator.writeNullField(name);
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package com.company.product.routing;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.AfterReturning;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import javax.servlet.http.HttpServletRequest;
+
+/**
+ * ReadRoutingAspect - Routes the read-only service methods (get*, find*, search*, export*) to the replicas
+ *
+ * Writes (create*, update*, delete*) stay on the primary; with read-your-writes enabled
+ * the writing client, identified by its X-Client-Id header or else its address, is pinned
+ * to the primary for a short window. Calls made from inside a service method do not pass
+ * through the proxy, so the reads a write does on its own stay on the primary.
+ */
+@Aspect
+public class ReadRoutingAspect {
+    
+    public static final String CLIENT_ID_HEADER = "X-Client-Id";
+    
+    private final ReadYourWritesTracker tracker;
+    
+    // tracker may be null when read-your-writes is disabled
+    public ReadRoutingAspect(ReadYourWritesTracker tracker) {
+        this.tracker = tracker;
+    }
+    
+    @Around("execution(public * com.company.product.service.ProductService.get*(..))"
+        + " || execution(public * com.company.product.service.ProductService.find*(..))"
+        + " || execution(public * com.company.product.service.ProductService.search*(..))"
+        + " || execution(public * com.company.product.service.ProductService.export*(..))")
+    public Object routeRead(ProceedingJoinPoint joinPoint) throws Throwable {
+        if (tracker != null) {
+            String client = currentClient();
+            if (client != null && tracker.isPinned(client)) {
+                return joinPoint.proceed();
+            }
+        }
+        boolean previous = ReadWriteRoutingDataSource.isReadOnly();
+        ReadWriteRoutingDataSource.setReadOnly(true);
+        try {
+            return joinPoint.proceed();
+        } finally {
+            ReadWriteRoutingDataSource.setReadOnly(previous);
+        }
+    }
+    
+    @AfterReturning("execution(public * com.company.product.service.ProductService.create*(..))"
+        + " || execution(public * com.company.product.service.ProductService.update*(..))"
+        + " || execution(public * com.company.product.service.ProductService.delete*(..))")
+    public void recordWrite() {
+        if (tracker != null) {
+            String client = currentClient();
+            if (client != null) {
+                tracker.recordWrite(client);
+            }
+        }
+    }
+    
+    // Client of the current HTTP request, or null outside a request
+    private static String currentClient() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (!(attributes instanceof ServletRequestAttributes)) {
+            return null;
+        }
+        HttpServletRequest request = ((ServletRequestAttributes) attributes).getRequest();
+        String clientId = request.getHeader(CLIENT_ID_HEADER);
+        return clientId != null && !clientId.isBlank() ? clientId : request.getRemoteAddr();
+    }
+}
@@ -0,0 +1,97 @@
+package com.company.product.routing;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+
+import javax.sql.DataSource;
+import java.io.Closeable;
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.SQLException;
+
+/**
+ * ReadWriteRoutingDataSource - Sends connections of read-only calls to a replica, everything else to the primary
+ *
+ * The route is decided per connection from a thread-local flag set by ReadRoutingAspect.
+ * JdbcTemplate opens a connection per statement outside transactions, so each query is
+ * routed on its own. When no replica is healthy reads fall back to the primary.
+ * Closing the router closes the primary pool and the replicas.
+ */
+public class ReadWriteRoutingDataSource extends AbstractDataSource implements DisposableBean {
+    
+    private static final ThreadLocal<Boolean> READ_ONLY = ThreadLocal.withInitial(() -> Boolean.FALSE);
+    
+    private final DataSource primary;
+    private final ReplicaPool replicas;
+    
+    public ReadWriteRoutingDataSource(DataSource primary, ReplicaPool replicas) {
+        this.primary = primary;
+        this.replicas = replicas;
+    }
+    
+    public static boolean isReadOnly() {
+        return READ_ONLY.get();
+    }
+    
+    public static void setReadOnly(boolean readOnly) {
+        if (readOnly) {
+            READ_ONLY.set(Boolean.TRUE);
+        } else {
+            READ_ONLY.remove();
+        }
+    }
+    
+    public DataSource getPrimary() {
+        return primary;
+    }
+    
+    @Override
+    public Connection getConnection() throws SQLException {
+        if (isReadOnly()) {
+            Connection replica = replicaConnection(null, null);
+            if (replica != null) {
+                return replica;
+            }
+        }
+        return primary.getConnection();
+    }
+    
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        if (isReadOnly()) {
+            Connection replica = replicaConnection(username, password);
+            if (replica != null) {
+                return replica;
+            }
+        }
+        return primary.getConnection(username, password);
+    }
+    
+    // Try healthy replicas in turn; a replica refusing connections is marked down
+    private Connection replicaConnection(String username, String password) {
+        for (int attempt = 0; attempt < replicas.size(); attempt++) {
+            int replica = replicas.select();
+            if (replica < 0) {
+                return null;
+            }
+            try {
+                DataSource target = replicas.get(replica);
+                return username != null ? target.getConnection(username, password) : target.getConnection();
+            } catch (SQLException e) {
+                replicas.markDown(replica, e);
+            }
+        }
+        return null;
+    }
+    
+    @Override
+    public void destroy() throws IOException {
+        try {
+            if (primary instanceof Closeable) {
+                ((Closeable) primary).close();
+            }
+        } finally {
+            replicas.destroy();
+        }
+    }
+}
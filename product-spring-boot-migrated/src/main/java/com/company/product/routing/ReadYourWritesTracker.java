@@ -0,0 +1,44 @@
+package com.company.product.routing;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * ReadYourWritesTracker - Remembers clients that wrote recently so their reads stay on the primary
+ *
+ * Replicas lag the primary, so a client reading right after its own write could miss it.
+ * After a write the client is pinned to the primary for the configured window.
+ */
+public class ReadYourWritesTracker {
+    
+    // Expired pins are swept once the map grows past this many clients
+    private static final int SWEEP_THRESHOLD = 10_000;
+    
+    private final long windowNanos;
+    private final Map<String, Long> pinnedUntil = new ConcurrentHashMap<>();
+    
+    public ReadYourWritesTracker(Duration window) {
+        this.windowNanos = window.toNanos();
+    }
+    
+    public void recordWrite(String client) {
+        long now = System.nanoTime();
+        if (pinnedUntil.size() > SWEEP_THRESHOLD) {
+            pinnedUntil.values().removeIf(until -> until - now <= 0);
+        }
+        pinnedUntil.put(client, now + windowNanos);
+    }
+    
+    public boolean isPinned(String client) {
+        Long until = pinnedUntil.get(client);
+        if (until == null) {
+            return false;
+        }
+        if (until - System.nanoTime() > 0) {
+            return true;
+        }
+        pinnedUntil.remove(client, until);
+        return false;
+    }
+}
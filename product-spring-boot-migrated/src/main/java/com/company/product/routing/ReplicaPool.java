@@ -0,0 +1,115 @@
+package com.company.product.routing;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+
+import javax.sql.DataSource;
+import java.io.Closeable;
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * ReplicaPool - Read replicas balanced round-robin, skipping the ones failing health checks
+ *
+ * A replica is marked down when its health check fails or a connection to it cannot be
+ * opened, and comes back on the next successful check.
+ */
+public class ReplicaPool implements DisposableBean {
+    
+    private static final Logger logger = LoggerFactory.getLogger(ReplicaPool.class);
+    
+    private final List<DataSource> replicas;
+    private final AtomicIntegerArray healthy; // 1 = up, 0 = down
+    private final AtomicInteger next = new AtomicInteger();
+    private final int validationTimeoutSeconds;
+    private ScheduledExecutorService healthChecker;
+    
+    public ReplicaPool(List<DataSource> replicas, int validationTimeoutSeconds) {
+        this.replicas = replicas;
+        this.healthy = new AtomicIntegerArray(replicas.size());
+        this.validationTimeoutSeconds = validationTimeoutSeconds;
+        for (int i = 0; i < replicas.size(); i++) {
+            healthy.set(i, 1);
+        }
+    }
+    
+    public int size() {
+        return replicas.size();
+    }
+    
+    public boolean isHealthy(int replica) {
+        return healthy.get(replica) == 1;
+    }
+    
+    // Next healthy replica in round-robin order, or -1 when none is available
+    public int select() {
+        int count = replicas.size();
+        int start = Math.floorMod(next.getAndIncrement(), Math.max(1, count));
+        for (int i = 0; i < count; i++) {
+            int candidate = (start + i) % count;
+            if (healthy.get(candidate) == 1) {
+                return candidate;
+            }
+        }
+        return -1;
+    }
+    
+    public DataSource get(int replica) {
+        return replicas.get(replica);
+    }
+    
+    public void markDown(int replica, Exception cause) {
+        if (healthy.getAndSet(replica, 0) == 1) {
+            logger.warn("Read replica {} marked down: {}", replica, cause.getMessage());
+        }
+    }
+    
+    // Validate a connection to every replica and update its status
+    public void checkHealth() {
+        for (int i = 0; i < replicas.size(); i++) {
+            try (Connection connection = replicas.get(i).getConnection()) {
+                if (!connection.isValid(validationTimeoutSeconds)) {
+                    throw new SQLException("connection is not valid");
+                }
+                if (healthy.getAndSet(i, 1) == 0) {
+                    logger.info("Read replica {} is back up", i);
+                }
+            } catch (SQLException e) {
+                markDown(i, e);
+            }
+        }
+    }
+    
+    // Run checkHealth on a background thread every interval
+    public synchronized void startHealthChecks(long intervalMillis) {
+        if (healthChecker != null || intervalMillis <= 0) {
+            return;
+        }
+        healthChecker = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "replica-health-check");
+            thread.setDaemon(true);
+            return thread;
+        });
+        healthChecker.scheduleWithFixedDelay(this::checkHealth, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+    }
+    
+    @Override
+    public synchronized void destroy() throws IOException {
+        if (healthChecker != null) {
+            healthChecker.shutdownNow();
+        }
+        for (DataSource replica : replicas) {
+            if (replica instanceof Closeable) {
+                ((Closeable) replica).close();
+            }
+        }
+    }
+}
@@ -0,0 +1,265 @@
+package com.company.product.search;
+
+import com.company.product.model.Product;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * ProductSearchIndex - In-memory inverted index over product name and description
+ *
+ * Each term maps to a posting list of product ids kept as a sorted primitive long[]
+ * with a parallel int[] of term weights, so lookups never box ids. Queries are
+ * multi-term AND: postings are intersected smallest-first and the survivors are
+ * ranked by a tf-idf style score where name hits weigh more than description hits.
+ */
+@Component
+public class ProductSearchIndex {
+
+    private static final int NAME_WEIGHT = 3;
+    private static final int DESCRIPTION_WEIGHT = 1;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // term -> postings
+    private final Map<String, Postings> postings = new HashMap<>();
+
+    // product id -> terms it was indexed under, needed to remove or re-index a product
+    private final Map<Long, String[]> documentTerms = new HashMap<>();
+
+    // Rebuild the whole index from a full product listing
+    public void rebuild(Collection<Product> products) {
+        Product[] sorted = products.toArray(new Product[0]);
+        // Adding ids in ascending order turns every posting insert into an append
+        Arrays.sort(sorted, (a, b) -> Long.compare(a.getId(), b.getId()));
+
+        lock.writeLock().lock();
+        try {
+            postings.clear();
+            documentTerms.clear();
+            for (Product product : sorted) {
+                addDocument(product);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Add or re-index a single product
+    public void index(Product product) {
+        if (product == null || product.getId() == null) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            removeDocument(product.getId());
+            addDocument(product);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Drop a product from the index
+    public void remove(Long id) {
+        if (id == null) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            removeDocument(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return documentTerms.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Return the ids of products matching every term of the query, best match first.
+     */
+    public List<Long> search(String query, int limit) {
+        Set<String> terms = new LinkedHashSet<>(tokenize(query));
+        if (terms.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+
+        lock.readLock().lock();
+        try {
+            Postings[] lists = new Postings[terms.size()];
+            int i = 0;
+            for (String term : terms) {
+                Postings list = postings.get(term);
+                if (list == null) {
+                    return List.of(); // AND query: one missing term means no match
+                }
+                lists[i++] = list;
+            }
+            Arrays.sort(lists, (a, b) -> Integer.compare(a.size, b.size));
+
+            // Intersect starting from the rarest term
+            long[] candidates = Arrays.copyOf(lists[0].ids, lists[0].size);
+            int candidateCount = candidates.length;
+            for (int l = 1; l < lists.length && candidateCount > 0; l++) {
+                candidateCount = intersect(candidates, candidateCount, lists[l]);
+            }
+            if (candidateCount == 0) {
+                return List.of();
+            }
+
+            double totalDocs = documentTerms.size();
+            double[] scores = new double[candidateCount];
+            for (Postings list : lists) {
+                double idf = Math.log(1.0 + totalDocs / list.size);
+                for (int c = 0; c < candidateCount; c++) {
+                    int pos = Arrays.binarySearch(list.ids, 0, list.size, candidates[c]);
+                    scores[c] += list.weights[pos] * idf;
+                }
+            }
+
+            return topRanked(candidates, scores, candidateCount, limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Split text into lowercase alphanumeric terms
+    static List<String> tokenize(String text) {
+        if (text == null || text.isEmpty()) {
+            return List.of();
+        }
+        List<String> tokens = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (Character.isLetterOrDigit(c)) {
+                current.append(Character.toLowerCase(c));
+            } else if (current.length() > 0) {
+                tokens.add(current.toString());
+                current.setLength(0);
+            }
+        }
+        if (current.length() > 0) {
+            tokens.add(current.toString());
+        }
+        return tokens;
+    }
+
+    private void addDocument(Product product) {
+        Map<String, Integer> weights = new HashMap<>();
+        for (String term : tokenize(product.getName())) {
+            weights.merge(term, NAME_WEIGHT, Integer::sum);
+        }
+        for (String term : tokenize(product.getDescription())) {
+            weights.merge(term, DESCRIPTION_WEIGHT, Integer::sum);
+        }
+
+        long id = product.getId();
+        for (Map.Entry<String, Integer> entry : weights.entrySet()) {
+            postings.computeIfAbsent(entry.getKey(), t -> new Postings()).add(id, entry.getValue());
+        }
+        documentTerms.put(id, weights.keySet().toArray(new String[0]));
+    }
+
+    private void removeDocument(long id) {
+        String[] terms = documentTerms.remove(id);
+        if (terms == null) {
+            return;
+        }
+        for (String term : terms) {
+            Postings list = postings.get(term);
+            if (list != null && list.remove(id) && list.size == 0) {
+                postings.remove(term);
+            }
+        }
+    }
+
+    // Keep only the candidates present in the list; returns the new candidate count
+    private static int intersect(long[] candidates, int count, Postings list) {
+        int kept = 0;
+        int from = 0;
+        for (int c = 0; c < count; c++) {
+            int pos = Arrays.binarySearch(list.ids, from, list.size, candidates[c]);
+            if (pos >= 0) {
+                candidates[kept++] = candidates[c];
+                from = pos + 1;
+            } else {
+                from = -pos - 1;
+                if (from >= list.size) {
+                    break;
+                }
+            }
+        }
+        return kept;
+    }
+
+    private static List<Long> topRanked(long[] ids, double[] scores, int count, int limit) {
+        Integer[] order = new Integer[count];
+        for (int i = 0; i < count; i++) {
+            order[i] = i;
+        }
+        // Higher score first, lower id breaks ties so results are stable
+        Arrays.sort(order, (a, b) -> {
+            int cmp = Double.compare(scores[b], scores[a]);
+            return cmp != 0 ? cmp : Long.compare(ids[a], ids[b]);
+        });
+
+        int n = Math.min(limit, count);
+        List<Long> result = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) {
+            result.add(ids[order[i]]);
+        }
+        return result;
+    }
+
+    // Sorted posting list of product ids with per-id term weights
+    private static final class Postings {
+        long[] ids = new long[4];
+        int[] weights = new int[4];
+        int size;
+
+        void add(long id, int weight) {
+            int pos = size > 0 && ids[size - 1] < id ? -(size + 1) : Arrays.binarySearch(ids, 0, size, id);
+            if (pos >= 0) {
+                weights[pos] = weight;
+                return;
+            }
+            int insertAt = -pos - 1;
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+                weights = Arrays.copyOf(weights, size * 2);
+            }
+            System.arraycopy(ids, insertAt, ids, insertAt + 1, size - insertAt);
+            System.arraycopy(weights, insertAt, weights, insertAt + 1, size - insertAt);
+            ids[insertAt] = id;
+            weights[insertAt] = weight;
+            size++;
+        }
+
+        boolean remove(long id) {
+            int pos = Arrays.binarySearch(ids, 0, size, id);
+            if (pos < 0) {
+                return false;
+            }
+            System.arraycopy(ids, pos + 1, ids, pos, size - pos - 1);
+            System.arraycopy(weights, pos + 1, weights, pos, size - pos - 1);
+            size--;
+            return true;
+        }
+    }
+}
@@ -1,22 +1,40 @@
 package com.company.product.service;
 
 import com.company.product.model.Product;
+import com.company.product.audit.AuditOutbox;
+import com.company.product.cache.JsonRowCache;
+import com.company.product.catalog.ProductCatalog;
 import com.company.product.exception.*;
+import com.company.product.export.ArrowColumn;
+import com.company.product.export.ArrowTableExporter;
+import com.company.product.jfr.ApiEvents;
+import com.company.product.search.ProductSearchIndex;
+import com.company.product.shard.ShardedProductStore;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.dao.EmptyResultDataAccessException;
 import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.jdbc.core.RowMapper;
 import org.springframework.jdbc.support.GeneratedKeyHolder;
 import org.springframework.jdbc.support.KeyHolder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.sql.PreparedStatement;
 import java.sql.Statement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import javax.annotation.PostConstruct;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -31,6 +49,55 @@ public class ProductService {
     @Autowired
     private JdbcTemplate jdbcTemplate;
     
+    @Autowired(required = false)
+    private JsonRowCache jsonRowCache;
+    
+    @Autowired(required = false)
+    private AuditOutbox auditOutbox;
+    
+    @Autowired(required = false)
+    private ArrowTableExporter arrowExporter;
+    
+    @Autowired
+    private ProductSearchIndex searchIndex;
+    
+    @Autowired(required = false)
+    private ProductCatalog productCatalog;
+    
+    @Autowired(required = false)
+    private ShardedProductStore shardedStore;
+    
+    // Held while re-reading a committed row and publishing it to the catalog and search index
+    private final Object publishLock = new Object();
+    
+    private static final Comparator<Product> BY_ID = Comparator.comparing(Product::getId);
+    
+    // Columns of the Arrow export, named like the JSON properties
+    private static final List<ArrowColumn> EXPORT_COLUMNS = List.of(
+        ArrowColumn.int64("id", "id"),
+        ArrowColumn.utf8("name", "name"),
+        ArrowColumn.utf8("description", "description"),
+        ArrowColumn.decimal("price", "price", 10, 2),
+        ArrowColumn.utf8("category", "category"),
+        ArrowColumn.int32("stock", "stock"),
+        ArrowColumn.bool("active", "active"),
+        ArrowColumn.timestamp("created_date", "createdDate"));
+    
+    // Fields that may be requested through ?fields=, mapped to their columns
+    private static final Map<String, String> PROJECTABLE_COLUMNS;
+    static {
+        Map<String, String> columns = new java.util.LinkedHashMap<>();
+        columns.put("id", "id");
+        columns.put("name", "name");
+        columns.put("description", "description");
+        columns.put("price", "price");
+        columns.put("category", "category");
+        columns.put("stock", "stock");
+        columns.put("active", "active");
+        columns.put("createdDate", "created_date");
+        PROJECTABLE_COLUMNS = Collections.unmodifiableMap(columns);
+    }
+    
     // Row mapper for Product
     private final RowMapper<Product> productRowMapper = (rs, rowNum) -> {
         Product entity = new Product();
@@ -82,35 +149,184 @@ public class ProductService {
     // Convert camelCase to snake_case
     private String camelToSnake(String camelCase) {
         return camelCase.replaceAll("([a-z])([A-Z]+)", "$1_$2").toLowerCase();
+    }
+    
+    // Database (or shard) of the given product
+    private JdbcTemplate templateFor(Long id) {
+        return shardedStore != null ? shardedStore.forId(id) : jdbcTemplate;
+    }
+    
+    // Distribute rows to the shards, load the catalog snapshot and build the keyword index
+    // once schema.sql has populated the table
+    @PostConstruct
+    public void buildSearchIndex() {
+        if (shardedStore != null && shardedStore.count() == 0) {
+            long rows = shardedStore.copyFrom(jdbcTemplate, 10_000);
+            logger.info("Distributed {} products across {} shards", rows, shardedStore.shardCount());
+        }
+        if (productCatalog != null) {
+            if (shardedStore != null) {
+                productCatalog.load(shardedStore.queryAll("SELECT * FROM products", productRowMapper));
+            } else {
+                productCatalog.load(productRowMapper);
+            }
+        }
+        searchIndex.rebuild(getAllProducts());
+        logger.info("Indexed {} products for keyword search", searchIndex.size());
     }    
     // Get all s
     public List<Product> getAllProducts() {
+        if (productCatalog != null) {
+            return productCatalog.snapshot().all();
+        }
+        if (shardedStore != null) {
+            return shardedStore.queryAllOrdered("SELECT * FROM products ORDER BY id", productRowMapper, BY_ID, 0);
+        }
         // Note: This query has parameters in Mule flow, defaulting to no filter
         String sql = "SELECT * FROM products";
-        return jdbcTemplate.query(sql, productRowMapper);
+        return ApiEvents.query(jdbcTemplate, "Product", sql, productRowMapper);
+    }
+    
+    // Get a page of products in id order, starting after the given id (keyset pagination)
+    public List<Product> getProductsPage(long afterId, int limit) {
+        if (productCatalog != null) {
+            return productCatalog.snapshot().page(afterId, limit);
+        }
+        String sql = "SELECT * FROM products WHERE id > ? ORDER BY id LIMIT ?";
+        if (shardedStore != null) {
+            // Each shard returns its first page; the merge keeps the global first page
+            return shardedStore.queryAllOrdered(sql, productRowMapper, BY_ID, limit, afterId, limit);
+        }
+        return ApiEvents.query(jdbcTemplate, "Product", sql, productRowMapper, afterId, limit);
     }
     
-    // Get s with filter
-    public List<Product> getProductsByStatus(String status) {
-        String sql = "SELECT * FROM products WHERE (? IS NULL OR category = ?) AND (? IS NULL OR active = ?)";
-        return jdbcTemplate.query(sql, productRowMapper, status);
+    // Get all Products restricted to the requested fields
+    public List<Map<String, Object>> getAllProducts(String fields) {
+        FieldProjection projection = FieldProjection.parse(fields, PROJECTABLE_COLUMNS);
+        if (projection == null) {
+            throw new InvalidRequestException("fields must name at least one field");
+        }
+        String sql = "SELECT " + projection.selectList() + " FROM products";
+        if (shardedStore != null) {
+            return shardedStore.queryAll(sql, projection.rowMapper());
+        }
+        return ApiEvents.query(jdbcTemplate, "Product", sql, projection.rowMapper());
+    }
+    
+    // Get s with filter; a null filter matches everything
+    public List<Product> getProductsByStatus(String category, Boolean active) {
+        if (productCatalog != null) {
+            return productCatalog.snapshot().filter(category, active);
+        }
+        
+        StringBuilder sql = new StringBuilder("SELECT * FROM products WHERE 1 = 1");
+        java.util.List<Object> parameters = new java.util.ArrayList<>();
+        if (category != null) {
+            sql.append(" AND category = ?");
+            parameters.add(category);
+        }
+        if (active != null) {
+            sql.append(" AND active = ?");
+            parameters.add(active);
+        }
+        if (shardedStore != null) {
+            sql.append(" ORDER BY id");
+            return shardedStore.queryAllOrdered(sql.toString(), productRowMapper, BY_ID, 0, parameters.toArray());
+        }
+        return ApiEvents.query(jdbcTemplate, "Product", sql.toString(), productRowMapper, parameters.toArray());
+    }    
+    // Search s by keywords in name and description (all terms must match)
+    public List<Product> searchProducts(String query, int limit) {
+        List<Long> rankedIds = searchIndex.search(query, limit);
+        if (rankedIds.isEmpty()) {
+            return List.of();
+        }
+        
+        if (productCatalog != null) {
+            java.util.List<Product> ranked = new java.util.ArrayList<>(rankedIds.size());
+            for (Long id : rankedIds) {
+                Product row = productCatalog.snapshot().get(id);
+                if (row != null) {
+                    ranked.add(row);
+                }
+            }
+            return ranked;
+        }
+        
+        String placeholders = String.join(", ", Collections.nCopies(rankedIds.size(), "?"));
+        String sql = "SELECT * FROM products WHERE id IN (" + placeholders + ")";
+        List<Product> rows = shardedStore != null
+            ? shardedStore.queryAll(sql, productRowMapper, rankedIds.toArray())
+            : ApiEvents.query(jdbcTemplate, "Product", sql, productRowMapper, rankedIds.toArray());
+        
+        // Return rows in the index's rank order
+        Map<Long, Product> byId = new HashMap<>();
+        for (Product row : rows) {
+            byId.put(row.getId(), row);
+        }
+        List<Product> ranked = new java.util.ArrayList<>(rows.size());
+        for (Long id : rankedIds) {
+            Product row = byId.get(id);
+            if (row != null) {
+                ranked.add(row);
+            }
+        }
+        return ranked;
     }    
+    // Stream every Product as Arrow IPC record batches; shards are exported one after another
+    public long exportProductsArrow(OutputStream out) throws IOException {
+        List<JdbcTemplate> sources = shardedStore != null ? shardedStore.shards() : List.of(jdbcTemplate);
+        return arrowExporter.export(sources, "products", EXPORT_COLUMNS, out);
+    }
+    
     // Create new Product
     public Product createProduct(Product entity) {
         // TODO: Implement based on your schema
         throw new UnsupportedOperationException("Create operation not implemented in Mule flows");
     }    
+    // Find Product by ID; a missing product is an empty result, not an exception
+    public Optional<Product> findProductById(Long id) {
+        if (productCatalog != null) {
+            return Optional.ofNullable(productCatalog.snapshot().get(id));
+        }
+        String sql = "SELECT * FROM products WHERE id = ?";
+        return first(ApiEvents.query(templateFor(id), "Product", sql, productRowMapper, id));
+    }
+    
     // Get Product by ID
     public Product getProductById(Long id) {
-        String sql = "SELECT * FROM products WHERE id = ?";
-        try {
-            return jdbcTemplate.queryForObject(sql, productRowMapper, id);
-        } catch (EmptyResultDataAccessException e) {
-            throw new ResourceNotFoundException("Product not found with id: " + id);
+        return findProductById(id).orElseThrow(() -> new ResourceNotFoundException("Product not found with id: " + id));
+    }
+    
+    // Find Product by ID restricted to the requested fields
+    public Optional<Map<String, Object>> findProductById(Long id, String fields) {
+        FieldProjection projection = FieldProjection.parse(fields, PROJECTABLE_COLUMNS);
+        if (projection == null) {
+            throw new InvalidRequestException("fields must name at least one field");
         }
+        String sql = "SELECT " + projection.selectList() + " FROM products WHERE id = ?";
+        return first(ApiEvents.query(templateFor(id), "Product", sql, projection.rowMapper(), id));
+    }
+    
+    // Get Product by ID restricted to the requested fields
+    public Map<String, Object> getProductById(Long id, String fields) {
+        return findProductById(id, fields).orElseThrow(() -> new ResourceNotFoundException("Product not found with id: " + id));
+    }
+    
+    // Single row of a by-id query, if any
+    private static <T> Optional<T> first(List<T> rows) {
+        return rows.isEmpty() ? Optional.empty() : Optional.of(rows.get(0));
     }    
-    // Update Product
+    // Update Product; the audit record commits with the change, caches and indexes follow the commit
+    @Transactional
     public Product updateProduct(Long id, Product entity) {
+        if (shardedStore != null) {
+            return shardedStore.inTransaction(id, () -> applyUpdate(id, entity));
+        }
+        return applyUpdate(id, entity);
+    }
+    
+    private Product applyUpdate(Long id, Product entity) {
         // Generate UPDATE query dynamically based on entity fields
         java.lang.reflect.Field[] fields = entity.getClass().getDeclaredFields();
         java.util.List<String> setClause = new java.util.ArrayList<>();
@@ -135,21 +351,87 @@ public class ProductService {
         parameters.add(id); // Add ID for WHERE clause
         
         String sql = "UPDATE products SET " + String.join(", ", setClause) + " WHERE id = ?";
-        int updated = jdbcTemplate.update(sql, parameters.toArray());
+        int updated = ApiEvents.update(templateFor(id), "Product", sql, parameters.toArray());
         
         if (updated == 0) {
             throw new ResourceNotFoundException("Product not found with id: " + id);
         }
         
         entity.setId(id);
+        if (auditOutbox != null) {
+            auditOutbox.record("Product", id, "UPDATE", entity);
+        }
+        afterCommit(() -> {
+            if (jsonRowCache != null) {
+                jsonRowCache.invalidate(id);
+            }
+            publishCommitted(id);
+        });
         return entity;
     }    
-    // Delete Product
+    // Delete Product; the audit record commits with the change, caches and indexes follow the commit
+    @Transactional
     public void deleteProduct(Long id) {
+        if (shardedStore != null) {
+            shardedStore.inTransaction(id, () -> {
+                applyDelete(id);
+                return null;
+            });
+        } else {
+            applyDelete(id);
+        }
+    }
+    
+    private void applyDelete(Long id) {
         String sql = "DELETE FROM products WHERE id = ?";
-        int deleted = jdbcTemplate.update(sql, id);
+        int deleted = ApiEvents.update(templateFor(id), "Product", sql, id);
         
         if (deleted == 0) {
             throw new ResourceNotFoundException("Product not found with id: " + id);
         }
+        if (auditOutbox != null) {
+            auditOutbox.record("Product", id, "DELETE", null);
+        }
+        afterCommit(() -> {
+            if (jsonRowCache != null) {
+                jsonRowCache.invalidate(id);
+            }
+            publishCommitted(id);
+        });
+    }
+    
+    // Publish the row as it is committed now, not as this write left it: the callbacks of two
+    // writes to one id may run in either order, but whichever runs last reads the latest commit
+    private void publishCommitted(Long id) {
+        synchronized (publishLock) {
+            String sql = "SELECT * FROM products WHERE id = ?";
+            Optional<Product> committed = first(ApiEvents.query(templateFor(id), "Product", sql, productRowMapper, id));
+            if (committed.isPresent()) {
+                if (productCatalog != null) {
+                    productCatalog.publishUpsert(committed.get());
+                }
+                searchIndex.index(committed.get());
+            } else {
+                if (productCatalog != null) {
+                    productCatalog.publishRemoval(id);
+                }
+                searchIndex.remove(id);
+            }
+        }
+    }
+    
+    // Run once the surrounding transaction commits (and not at all on rollback), or now outside one.
+    // Until then readers still see the old row, so the JSON cache, catalog and search index
+    // must not move ahead of the database, nor be refilled from it between invalidation and commit.
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
     }}
\ No newline at end of file
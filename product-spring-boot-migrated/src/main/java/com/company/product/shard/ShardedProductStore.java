@@ -0,0 +1,274 @@
+package com.company.product.shard;
+
+import com.company.product.jfr.ApiEvents;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.core.io.Resource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import javax.sql.DataSource;
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * ShardedProductStore - The products table hash-partitioned by id across several databases
+ *
+ * Point reads and writes go to the single shard owning the id. Queries over the whole
+ * table are sent to every shard in parallel; ordered queries are merged with a k-way
+ * merge so the combined result keeps the shards' common ORDER BY, which is what makes
+ * keyset pagination (WHERE id > ? ORDER BY id LIMIT ?) work across shards.
+ *
+ * Consistency: once the rows are distributed, the shards own the products and the
+ * primary products table is no longer read or written. A write runs in a local
+ * transaction on its shard (inTransaction), nested inside the caller's transaction on
+ * the primary database, which holds the audit outbox. Anything that fails before the
+ * shard commits rolls back both. There is no two-phase commit: if the primary commit
+ * fails after the shard committed, the product change stands without its audit record.
+ */
+public class ShardedProductStore implements DisposableBean {
+
+    // Every column of the products table, so a copied row keeps its created_date
+    private static final String COLUMNS = "id, name, description, price, category, stock, active, created_date";
+    private static final String INSERT_SQL = "INSERT INTO products (" + COLUMNS + ") VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final String PAGE_SQL = "SELECT " + COLUMNS + " FROM products WHERE id > ? ORDER BY id LIMIT ?";
+
+    private final List<DataSource> dataSources;
+    private final List<JdbcTemplate> shards;
+    private final List<TransactionTemplate> transactions;
+    private final ExecutorService scatterPool;
+
+    public ShardedProductStore(List<DataSource> dataSources, int scatterThreads) {
+        if (dataSources.isEmpty()) {
+            throw new IllegalArgumentException("At least one shard is required");
+        }
+        this.dataSources = dataSources;
+        this.shards = new ArrayList<>(dataSources.size());
+        this.transactions = new ArrayList<>(dataSources.size());
+        for (DataSource dataSource : dataSources) {
+            shards.add(new JdbcTemplate(dataSource));
+            transactions.add(new TransactionTemplate(new DataSourceTransactionManager(dataSource)));
+        }
+        this.scatterPool = Executors.newFixedThreadPool(Math.max(1, scatterThreads), runnable -> {
+            Thread thread = new Thread(runnable, "product-shard-scatter");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    public int shardCount() {
+        return shards.size();
+    }
+
+    // Shard owning an id; ids are mixed first so sequential ids spread evenly
+    public int shardOf(long id) {
+        long h = id;
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return (int) Math.floorMod(h, (long) shards.size());
+    }
+
+    public JdbcTemplate forId(long id) {
+        return shards.get(shardOf(id));
+    }
+
+    public JdbcTemplate forShard(int shard) {
+        return shards.get(shard);
+    }
+
+    public List<JdbcTemplate> shards() {
+        return Collections.unmodifiableList(shards);
+    }
+
+    // Run the schema script on every shard
+    public void initializeSchema(Resource script) {
+        ResourceDatabasePopulator populator = new ResourceDatabasePopulator(script);
+        for (DataSource dataSource : dataSources) {
+            populator.execute(dataSource);
+        }
+    }
+
+    public long count() {
+        long total = 0;
+        for (List<Long> counts : scatter(shard -> ApiEvents.query(shard, "Product", "SELECT COUNT(*) FROM products", (rs, rowNum) -> rs.getLong(1)))) {
+            total += counts.get(0);
+        }
+        return total;
+    }
+
+    /**
+     * Copy every row of the source products table, all columns included, into its owning shard.
+     * Rows are read in keyset pages of pageSize; returns the number of rows copied.
+     */
+    public long copyFrom(JdbcTemplate source, int pageSize) {
+        int limit = Math.max(1, pageSize);
+        int columns = COLUMNS.split(",").length;
+        long copied = 0;
+        long afterId = Long.MIN_VALUE;
+        while (true) {
+            List<Object[]> rows = source.query(PAGE_SQL, (rs, rowNum) -> {
+                Object[] row = new Object[columns];
+                for (int c = 0; c < columns; c++) {
+                    row[c] = rs.getObject(c + 1);
+                }
+                return row;
+            }, afterId, limit);
+
+            List<List<Object[]>> batches = new ArrayList<>();
+            for (int i = 0; i < shards.size(); i++) {
+                batches.add(new ArrayList<>());
+            }
+            for (Object[] row : rows) {
+                batches.get(shardOf(((Number) row[0]).longValue())).add(row);
+            }
+            for (int i = 0; i < shards.size(); i++) {
+                if (!batches.get(i).isEmpty()) {
+                    shards.get(i).batchUpdate(INSERT_SQL, batches.get(i));
+                }
+            }
+
+            copied += rows.size();
+            if (rows.size() < limit) {
+                return copied;
+            }
+            afterId = ((Number) rows.get(rows.size() - 1)[0]).longValue();
+        }
+    }
+
+    /**
+     * Run work in a local transaction on the shard owning the id; forId(id) calls inside it
+     * join that transaction. It commits when work returns, before any surrounding transaction
+     * on another database, and rolls back if work throws.
+     */
+    public <T> T inTransaction(long id, Supplier<T> work) {
+        return transactions.get(shardOf(id)).execute(status -> work.get());
+    }
+
+    /**
+     * Run the query on every shard in parallel and concatenate the results in shard order.
+     */
+    public <T> List<T> queryAll(String sql, RowMapper<T> rowMapper, Object... args) {
+        List<T> rows = new ArrayList<>();
+        for (List<T> shardRows : scatter(shard -> ApiEvents.query(shard, "Product", sql, rowMapper, args))) {
+            rows.addAll(shardRows);
+        }
+        return rows;
+    }
+
+    /**
+     * Run an ordered query on every shard in parallel and k-way merge the results.
+     * Every shard's result must already be sorted by the given order (the query's ORDER BY).
+     * A limit of zero or less returns every row.
+     */
+    public <T> List<T> queryAllOrdered(String sql, RowMapper<T> rowMapper, Comparator<? super T> order, int limit, Object... args) {
+        return merge(scatter(shard -> ApiEvents.query(shard, "Product", sql, rowMapper, args)), order, limit);
+    }
+
+    static <T> List<T> merge(List<List<T>> sortedRuns, Comparator<? super T> order, int limit) {
+        int total = 0;
+        for (List<T> run : sortedRuns) {
+            total += run.size();
+        }
+        int wanted = limit > 0 ? Math.min(limit, total) : total;
+
+        // Heap of each run's current head; ties go to the lower shard index so merges are stable
+        PriorityQueue<RunCursor<T>> heads = new PriorityQueue<>(Math.max(1, sortedRuns.size()), (a, b) -> {
+            int cmp = order.compare(a.head, b.head);
+            return cmp != 0 ? cmp : Integer.compare(a.run, b.run);
+        });
+        for (int i = 0; i < sortedRuns.size(); i++) {
+            Iterator<T> rows = sortedRuns.get(i).iterator();
+            if (rows.hasNext()) {
+                heads.add(new RunCursor<>(i, rows));
+            }
+        }
+
+        List<T> merged = new ArrayList<>(wanted);
+        while (merged.size() < wanted && !heads.isEmpty()) {
+            RunCursor<T> cursor = heads.poll();
+            merged.add(cursor.head);
+            if (cursor.advance()) {
+                heads.add(cursor);
+            }
+        }
+        return merged;
+    }
+
+    // Each shard's query runs on a scatter thread, which sees the caller's request so its QueryEvent keeps the route
+    private <R> List<R> scatter(Function<JdbcTemplate, R> perShard) {
+        RequestAttributes request = RequestContextHolder.getRequestAttributes();
+        List<CompletableFuture<R>> futures = new ArrayList<>(shards.size());
+        for (JdbcTemplate shard : shards) {
+            futures.add(CompletableFuture.supplyAsync(() -> {
+                RequestContextHolder.setRequestAttributes(request);
+                try {
+                    return perShard.apply(shard);
+                } finally {
+                    RequestContextHolder.resetRequestAttributes();
+                }
+            }, scatterPool));
+        }
+        List<R> results = new ArrayList<>(futures.size());
+        for (CompletableFuture<R> future : futures) {
+            try {
+                results.add(future.join());
+            } catch (CompletionException e) {
+                // Surface the shard's own DataAccessException rather than the wrapper
+                if (e.getCause() instanceof RuntimeException) {
+                    throw (RuntimeException) e.getCause();
+                }
+                throw e;
+            }
+        }
+        return results;
+    }
+
+    @Override
+    public void destroy() throws IOException {
+        scatterPool.shutdown();
+        for (DataSource dataSource : dataSources) {
+            if (dataSource instanceof Closeable) {
+                ((Closeable) dataSource).close();
+            }
+        }
+    }
+
+    private static final class RunCursor<T> {
+        final int run;
+        final Iterator<T> rows;
+        T head;
+
+        RunCursor(int run, Iterator<T> rows) {
+            this.run = run;
+            this.rows = rows;
+            this.head = rows.next();
+        }
+
+        boolean advance() {
+            if (!rows.hasNext()) {
+                return false;
+            }
+            head = rows.next();
+            return true;
+        }
+    }
+}
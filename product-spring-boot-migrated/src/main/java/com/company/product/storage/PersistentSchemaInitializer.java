@@ -0,0 +1,76 @@
+package com.company.product.storage;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.jdbc.init.DataSourceScriptDatabaseInitializer;
+import org.springframework.boot.sql.init.DatabaseInitializationMode;
+import org.springframework.boot.sql.init.DatabaseInitializationSettings;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.List;
+
+/**
+ * PersistentSchemaInitializer - Runs schema.sql only against a database that has no products table yet
+ *
+ * schema.sql drops and re-seeds the table, which is right for the in-memory database but
+ * would wipe a file-backed one on every restart. Being a DataSourceScriptDatabaseInitializer,
+ * Spring Boot orders it before the JdbcTemplate users, so services see the final schema.
+ * With preload enabled the table is scanned once so its pages are in H2's cache before
+ * the first request.
+ */
+public class PersistentSchemaInitializer extends DataSourceScriptDatabaseInitializer {
+    
+    private static final Logger logger = LoggerFactory.getLogger(PersistentSchemaInitializer.class);
+    
+    private static final String TABLE = "PRODUCTS";
+    
+    // Reads every row, pulling the table's pages into the cache. COUNT(name) would not:
+    // name is NOT NULL, so H2 answers it from the row count without touching a page
+    private static final String PRELOAD_SQL = "SELECT SUM(CHAR_LENGTH(description)), MAX(id) FROM products";
+    
+    private final DataSource dataSource;
+    private final boolean preload;
+    
+    public PersistentSchemaInitializer(DataSource dataSource, boolean preload) {
+        super(dataSource, settings());
+        this.dataSource = dataSource;
+        this.preload = preload;
+    }
+    
+    private static DatabaseInitializationSettings settings() {
+        DatabaseInitializationSettings settings = new DatabaseInitializationSettings();
+        settings.setSchemaLocations(List.of("classpath:schema.sql"));
+        settings.setMode(DatabaseInitializationMode.ALWAYS);
+        return settings;
+    }
+    
+    @Override
+    public boolean initializeDatabase() {
+        boolean initialized = false;
+        if (tableExists()) {
+            logger.info("Reusing existing {} table, skipping schema.sql", TABLE.toLowerCase());
+        } else {
+            initialized = super.initializeDatabase();
+            logger.info("Created {} table from schema.sql", TABLE.toLowerCase());
+        }
+        if (preload) {
+            long start = System.nanoTime();
+            new JdbcTemplate(dataSource).queryForList(PRELOAD_SQL);
+            logger.info("Preloaded {} pages in {} ms", TABLE.toLowerCase(), (System.nanoTime() - start) / 1_000_000);
+        }
+        return initialized;
+    }
+    
+    private boolean tableExists() {
+        try (Connection connection = dataSource.getConnection();
+             ResultSet tables = connection.getMetaData().getTables(null, null, TABLE, new String[] {"TABLE"})) {
+            return tables.next();
+        } catch (SQLException e) {
+            throw new IllegalStateException("Could not inspect the database schema", e);
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package com.company.product.warmup;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+
+/**
+ * HotKeyTracker - Counts reads per id and persists the hottest ids for the next start's warm-up
+ *
+ * Only ids that were actually found are recorded, so scanners probing random ids do not end
+ * up on the list. Tracking is capped: once maxTracked ids are known, new ids are ignored.
+ * The list is written on shutdown, hottest first, one id per line.
+ */
+public class HotKeyTracker implements DisposableBean {
+    
+    private static final Logger logger = LoggerFactory.getLogger(HotKeyTracker.class);
+    
+    private final Path file;
+    private final int maxKeys;
+    private final int maxTracked;
+    private final Map<Long, LongAdder> hits = new ConcurrentHashMap<>();
+    private volatile boolean recording = true;
+    
+    public HotKeyTracker(Path file, int maxKeys) {
+        this.file = file;
+        this.maxKeys = maxKeys;
+        this.maxTracked = maxKeys * 10;
+    }
+    
+    public void record(Long id) {
+        if (!recording) {
+            return;
+        }
+        LongAdder counter = hits.get(id);
+        if (counter == null) {
+            if (hits.size() >= maxTracked) {
+                return;
+            }
+            counter = hits.computeIfAbsent(id, key -> new LongAdder());
+        }
+        counter.increment();
+    }
+    
+    // Paused while warm-up traffic runs, so it does not count as real demand
+    public void setRecording(boolean recording) {
+        this.recording = recording;
+    }
+    
+    // Ids persisted by the previous run, hottest first
+    public List<Long> load() {
+        if (!Files.exists(file)) {
+            return List.of();
+        }
+        try {
+            List<Long> ids = new ArrayList<>();
+            for (String line : Files.readAllLines(file, StandardCharsets.UTF_8)) {
+                String trimmed = line.trim();
+                if (!trimmed.isEmpty() && ids.size() < maxKeys) {
+                    ids.add(Long.parseLong(trimmed));
+                }
+            }
+            return ids;
+        } catch (IOException | NumberFormatException e) {
+            logger.warn("Ignoring unreadable hot key list {}: {}", file, e.getMessage());
+            return List.of();
+        }
+    }
+    
+    public List<Long> hottest() {
+        return hits.entrySet().stream()
+            .sorted(Comparator.comparingLong((Map.Entry<Long, LongAdder> entry) -> entry.getValue().sum()).reversed())
+            .limit(maxKeys)
+            .map(Map.Entry::getKey)
+            .collect(Collectors.toList());
+    }
+    
+    public void save() throws IOException {
+        List<Long> ids = hottest();
+        if (ids.isEmpty()) {
+            return;
+        }
+        if (file.getParent() != null) {
+            Files.createDirectories(file.getParent());
+        }
+        Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+        Files.write(temp, ids.stream().map(String::valueOf).collect(Collectors.toList()), StandardCharsets.UTF_8);
+        Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+    
+    @Override
+    public void destroy() {
+        try {
+            save();
+        } catch (IOException e) {
+            logger.warn("Could not persist hot key list {}: {}", file, e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,12 @@
+-- Audit Outbox Schema
+-- Entity changes written in the same transaction as the change; drained by AuditRelay.
+-- Kept out of schema.sql so it is never dropped with pending rows.
+
+CREATE TABLE IF NOT EXISTS audit_outbox (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    entity VARCHAR(50) NOT NULL,
+    entity_id BIGINT NOT NULL,
+    action VARCHAR(10) NOT NULL,
+    payload VARCHAR(65535),
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP
+);
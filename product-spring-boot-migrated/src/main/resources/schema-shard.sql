@@ -0,0 +1,13 @@
+-- Shard Schema
+-- Same columns as schema.sql; ids are assigned globally, so no AUTO_INCREMENT here.
+
+CREATE TABLE IF NOT EXISTS products (
+    id BIGINT PRIMARY KEY,
+    name VARCHAR(100) NOT NULL,
+    description VARCHAR(500) NOT NULL,
+    price DECIMAL(10,2) NOT NULL,
+    category VARCHAR(100) NOT NULL,
+    stock INT NOT NULL,
+    active BOOLEAN DEFAULT FALSE,
+    created_date TIMESTAMP DEFAULT CURRENT_TIMESTAMP
+);
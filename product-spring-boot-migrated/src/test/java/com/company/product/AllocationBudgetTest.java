@@ -0,0 +1,114 @@
+package com.company.product;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.management.ManagementFactory;
+import java.util.Arrays;
+import java.util.Properties;
+
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Allocation budget regression tests for the request path.
+ *
+ * Each route is warmed up, then the bytes allocated by the test thread (which MockMvc
+ * runs the whole request on) are sampled per request. The median must stay within the
+ * route's budget in allocation-budgets.properties; raise a budget only together with
+ * the change that justifies it.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+class AllocationBudgetTest {
+
+    private static final int WARMUP_REQUESTS = 500;
+    private static final int MEASURED_REQUESTS = 101;
+
+    private static final String PRODUCT_JSON = "{\"name\":\"Laptop Pro 15\",\"description\":\"High-performance laptop with 16GB RAM\","
+        + "\"price\":1299.99,\"category\":\"Electronics\",\"stock\":25,\"active\":true}";
+
+    private static final Properties budgets = new Properties();
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @BeforeAll
+    static void loadBudgets() throws IOException {
+        try (InputStream in = AllocationBudgetTest.class.getResourceAsStream("/allocation-budgets.properties")) {
+            assertNotNull(in, "allocation-budgets.properties is missing");
+            budgets.load(in);
+        }
+    }
+
+    @Test
+    void getAllProductsStaysWithinBudget() throws Exception {
+        assertWithinBudget("products.get-all",
+            () -> mockMvc.perform(get("/products")).andExpect(status().isOk()));
+    }
+
+    @Test
+    void getProductByIdStaysWithinBudget() throws Exception {
+        assertWithinBudget("products.get-by-id",
+            () -> mockMvc.perform(get("/products/1")).andExpect(status().isOk()));
+    }
+
+    @Test
+    void productPageStaysWithinBudget() throws Exception {
+        assertWithinBudget("products.page",
+            () -> mockMvc.perform(get("/products").param("afterId", "1").param("limit", "3")).andExpect(status().isOk()));
+    }
+
+    @Test
+    void searchStaysWithinBudget() throws Exception {
+        assertWithinBudget("products.search",
+            () -> mockMvc.perform(get("/products/search").param("q", "wireless mouse")).andExpect(status().isOk()));
+    }
+
+    @Test
+    void updateProductStaysWithinBudget() throws Exception {
+        assertWithinBudget("products.update",
+            () -> mockMvc.perform(put("/products/1").contentType(MediaType.APPLICATION_JSON).content(PRODUCT_JSON))
+                .andExpect(status().isOk()));
+    }
+
+    private void assertWithinBudget(String route, Request request) throws Exception {
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        assumeTrue(threads.isThreadAllocatedMemorySupported(), "JVM does not report per-thread allocation");
+        threads.setThreadAllocatedMemoryEnabled(true);
+        long threadId = Thread.currentThread().getId();
+
+        for (int i = 0; i < WARMUP_REQUESTS; i++) {
+            request.perform();
+        }
+
+        long[] samples = new long[MEASURED_REQUESTS];
+        for (int i = 0; i < samples.length; i++) {
+            long before = threads.getThreadAllocatedBytes(threadId);
+            request.perform();
+            samples[i] = threads.getThreadAllocatedBytes(threadId) - before;
+        }
+        Arrays.sort(samples);
+        long median = samples[samples.length / 2];
+
+        long budget = Long.parseLong(budgets.getProperty(route));
+        assertTrue(median <= budget, () -> String.format(
+            "%s allocated %,d bytes per request (median of %d), budget is %,d", route, median, samples.length, budget));
+    }
+
+    @FunctionalInterface
+    private interface Request {
+        void perform() throws Exception;
+    }
+}
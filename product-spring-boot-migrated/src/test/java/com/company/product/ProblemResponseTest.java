@@ -0,0 +1,164 @@
+package com.company.product;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Error responses share one problem+json shape, whichever path produced them.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@Import(ProblemResponseTest.FailingController.class)
+class ProblemResponseTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    void missingProductIsAProblemResponse() throws Exception {
+        mockMvc.perform(get("/products/987654"))
+            .andExpect(status().isNotFound())
+            .andExpect(content().contentTypeCompatibleWith("application/problem+json"))
+            .andExpect(jsonPath("$.status").value(404))
+            .andExpect(jsonPath("$.title").value("Not Found"))
+            .andExpect(jsonPath("$.detail").value("Product not found with id: 987654"))
+            .andExpect(jsonPath("$.instance").value("/products/987654"));
+
+        mockMvc.perform(get("/products/987654").param("fields", "name"))
+            .andExpect(status().isNotFound())
+            .andExpect(jsonPath("$.status").value(404));
+    }
+
+    @Test
+    void missingProductOnUpdateIsAProblemResponse() throws Exception {
+        mockMvc.perform(put("/products/987654")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"name\":\"Desk\",\"description\":\"Oak desk\",\"price\":199.0,\"category\":\"Furniture\",\"stock\":5,\"active\":true}"))
+            .andExpect(status().isNotFound())
+            .andExpect(jsonPath("$.detail").value("Product not found with id: 987654"));
+    }
+
+    @Test
+    void invalidInputIsABadRequest() throws Exception {
+        mockMvc.perform(get("/products/not-a-number"))
+            .andExpect(status().isBadRequest())
+            .andExpect(jsonPath("$.detail").value("Invalid value for id"));
+
+        mockMvc.perform(get("/products").param("fields", "name").param("category", "Electronics"))
+            .andExpect(status().isBadRequest())
+            .andExpect(jsonPath("$.status").value(400));
+    }
+
+    @Test
+    void createIsNotImplemented() throws Exception {
+        mockMvc.perform(post("/products")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"name\":\"Desk\"}"))
+            .andExpect(status().isNotImplemented())
+            .andExpect(jsonPath("$.status").value(501));
+    }
+
+    @Test
+    void unsupportedMethodIsAMethodNotAllowed() throws Exception {
+        mockMvc.perform(patch("/products/1").contentType(MediaType.APPLICATION_JSON).content("{}"))
+            .andExpect(status().isMethodNotAllowed())
+            .andExpect(header().exists("Allow"))
+            .andExpect(content().contentTypeCompatibleWith("application/problem+json"))
+            .andExpect(jsonPath("$.status").value(405))
+            .andExpect(jsonPath("$.instance").value("/products/1"));
+
+        mockMvc.perform(delete("/products"))
+            .andExpect(status().isMethodNotAllowed())
+            .andExpect(jsonPath("$.status").value(405));
+    }
+
+    @Test
+    void unsupportedBodyTypeIsAnUnsupportedMediaType() throws Exception {
+        mockMvc.perform(put("/products/1").contentType(MediaType.TEXT_PLAIN).content("Desk"))
+            .andExpect(status().isUnsupportedMediaType())
+            .andExpect(content().contentTypeCompatibleWith("application/problem+json"))
+            .andExpect(jsonPath("$.status").value(415))
+            .andExpect(jsonPath("$.title").value("Unsupported Media Type"));
+
+        mockMvc.perform(post("/products").contentType(MediaType.TEXT_PLAIN).content("Desk"))
+            .andExpect(status().isUnsupportedMediaType())
+            .andExpect(jsonPath("$.status").value(415));
+    }
+
+    @Test
+    void disabledArrowExportIsNotFound() throws Exception {
+        mockMvc.perform(get("/products/export.arrow"))
+            .andExpect(status().isNotFound())
+            .andExpect(content().contentTypeCompatibleWith("application/problem+json"))
+            .andExpect(jsonPath("$.detail").value("Arrow export is disabled"))
+            .andExpect(jsonPath("$.instance").value("/products/export.arrow"));
+    }
+
+    @Test
+    void responseStatusExceptionsKeepTheirStatus() throws Exception {
+        mockMvc.perform(get("/failing/response-status"))
+            .andExpect(status().isConflict())
+            .andExpect(content().contentTypeCompatibleWith("application/problem+json"))
+            .andExpect(jsonPath("$.status").value(409))
+            .andExpect(jsonPath("$.detail").value("Stale product version"))
+            .andExpect(jsonPath("$.instance").value("/failing/response-status"));
+    }
+
+    @Test
+    void annotatedExceptionsKeepTheirDeclaredStatus() throws Exception {
+        mockMvc.perform(get("/failing/annotated"))
+            .andExpect(status().isGone())
+            .andExpect(jsonPath("$.status").value(410))
+            .andExpect(jsonPath("$.detail").value("Product 7 was retired"));
+
+        mockMvc.perform(get("/failing/unexpected"))
+            .andExpect(status().isInternalServerError())
+            .andExpect(jsonPath("$.detail").value("Unexpected error"));
+    }
+
+    @RestController
+    static class FailingController {
+
+        @GetMapping("/failing/response-status")
+        void responseStatus() {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, "Stale product version");
+        }
+
+        @GetMapping("/failing/annotated")
+        void annotated() {
+            throw new RetiredProductException("Product 7 was retired");
+        }
+
+        @GetMapping("/failing/unexpected")
+        void unexpected() {
+            throw new IllegalStateException("boom");
+        }
+    }
+
+    @ResponseStatus(HttpStatus.GONE)
+    static class RetiredProductException extends RuntimeException {
+        RetiredProductException(String message) {
+            super(message);
+        }
+    }
+}
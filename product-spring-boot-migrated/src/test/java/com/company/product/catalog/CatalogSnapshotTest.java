@@ -0,0 +1,122 @@
+package com.company.product.catalog;
+
+import com.company.product.model.Product;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+/**
+ * Lookups, paging, filters and copy-on-write updates of catalog snapshots spanning many blocks.
+ */
+class CatalogSnapshotTest {
+
+    @Test
+    void laterDuplicatesWinAndLookupsSpanBlocks() {
+        List<Product> rows = new ArrayList<>();
+        for (long id = 3000; id >= 1; id--) {
+            rows.add(product(id * 10, "c" + (id % 3), id % 2 == 0));
+        }
+        rows.add(product(500, "replaced", true));
+        CatalogSnapshot snapshot = CatalogSnapshot.of(rows);
+
+        assertEquals(3000, snapshot.size());
+        assertEquals("replaced", snapshot.get(500).getCategory());
+        assertEquals(30000L, snapshot.get(30000).getId());
+        assertNull(snapshot.get(5));
+        assertNull(snapshot.get(30001));
+        assertEquals(LongStream.rangeClosed(1, 3000).map(id -> id * 10).boxed().collect(Collectors.toList()),
+            ids(snapshot.all()));
+    }
+
+    @Test
+    void pagesCrossBlockBoundariesInIdOrder() {
+        CatalogSnapshot snapshot = range(1, 2000);
+
+        assertEquals(List.of(1L, 2L, 3L), ids(snapshot.page(0, 3)));
+        assertEquals(List.of(511L, 512L, 513L, 514L), ids(snapshot.page(510, 4)));
+        assertEquals(List.of(1999L, 2000L), ids(snapshot.page(1998, 10)));
+        assertEquals(List.of(), ids(snapshot.page(2000, 10)));
+    }
+
+    @Test
+    void filtersCombineCategoryAndActiveAcrossBlocks() {
+        CatalogSnapshot snapshot = range(1, 1500);
+
+        List<Product> matches = snapshot.filter("c1", true);
+        assertEquals(250, matches.size());
+        for (Product product : matches) {
+            assertEquals(1, product.getId() % 3);
+            assertEquals(0, product.getId() % 2);
+        }
+        assertEquals(750, snapshot.filter(null, false).size());
+        assertEquals(List.of(), snapshot.filter("missing", null));
+    }
+
+    @Test
+    void updatesNeverChangeAnEarlierSnapshot() {
+        CatalogSnapshot before = range(1, 1000);
+        Product original = before.get(700);
+
+        CatalogSnapshot after = before
+            .withUpsert(product(700, "updated", true))
+            .withUpsert(product(5000, "c0", true))
+            .withRemoval(3);
+
+        assertSame(original, before.get(700));
+        assertEquals(1000, before.size());
+        assertEquals(3L, before.get(3).getId());
+        assertNull(before.get(5000));
+
+        assertEquals("updated", after.get(700).getCategory());
+        assertEquals(1000, after.size());
+        assertNull(after.get(3));
+        assertEquals(5000L, after.all().get(999).getId());
+    }
+
+    @Test
+    void insertsSplitFullBlocksAndRemovalsDropEmptyOnes() {
+        CatalogSnapshot snapshot = CatalogSnapshot.EMPTY;
+        // Descending inserts keep landing in the first block, forcing repeated splits
+        for (long id = 3000; id >= 1; id--) {
+            snapshot = snapshot.withUpsert(product(id, "c" + (id % 3), id % 2 == 0));
+        }
+        assertEquals(LongStream.rangeClosed(1, 3000).boxed().collect(Collectors.toList()), ids(snapshot.all()));
+        assertEquals(500, snapshot.filter("c2", false).size());
+
+        for (long id = 1; id <= 2990; id++) {
+            snapshot = snapshot.withRemoval(id);
+        }
+        assertSame(snapshot, snapshot.withRemoval(1));
+        assertEquals(LongStream.rangeClosed(2991, 3000).boxed().collect(Collectors.toList()), ids(snapshot.all()));
+        assertEquals(List.of(2991L, 2992L), ids(snapshot.page(0, 2)));
+        assertEquals(1L, snapshot.withUpsert(product(1, "c1", true)).all().get(0).getId());
+    }
+
+    // Products 1..to: category c(id % 3), active when the id is even
+    private static CatalogSnapshot range(long from, long to) {
+        List<Product> rows = new ArrayList<>();
+        for (long id = from; id <= to; id++) {
+            rows.add(product(id, "c" + (id % 3), id % 2 == 0));
+        }
+        return CatalogSnapshot.of(rows);
+    }
+
+    private static Product product(long id, String category, boolean active) {
+        Product product = new Product();
+        product.setId(id);
+        product.setCategory(category);
+        product.setActive(active);
+        return product;
+    }
+
+    private static List<Long> ids(List<Product> products) {
+        return products.stream().map(Product::getId).collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,110 @@
+package com.company.product.catalog;
+
+import com.company.product.model.Product;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Parallel keyset loading of the catalog from the products table.
+ */
+class ProductCatalogTest {
+
+    private static final RowMapper<Product> ROW_MAPPER = (rs, rowNum) -> {
+        Product product = new Product();
+        product.setId(rs.getLong("id"));
+        product.setName(rs.getString("name"));
+        return product;
+    };
+
+    private SingleConnectionDataSource dataSource;
+    private JdbcTemplate jdbcTemplate;
+    private ProductCatalog catalog;
+
+    @BeforeEach
+    void setUp() {
+        dataSource = new SingleConnectionDataSource("jdbc:h2:mem:" + UUID.randomUUID(), "sa", "", true);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("CREATE TABLE products (id BIGINT PRIMARY KEY, name VARCHAR(100))");
+
+        catalog = new ProductCatalog();
+        ReflectionTestUtils.setField(catalog, "jdbcTemplate", jdbcTemplate);
+        ReflectionTestUtils.setField(catalog, "pageSize", 3);
+        ReflectionTestUtils.setField(catalog, "loadThreads", 3);
+    }
+
+    @AfterEach
+    void tearDown() {
+        dataSource.destroy();
+    }
+
+    @Test
+    void sparseIdsAreLoadedInFullPages() {
+        List<Long> ids = List.of(-5L, 1L, 2L, 1_000_000L, 1_000_001L, 7_000_000_000L, Long.MAX_VALUE);
+        for (Long id : ids) {
+            jdbcTemplate.update("INSERT INTO products VALUES (?, ?)", id, "p" + id);
+        }
+
+        catalog.load(ROW_MAPPER);
+
+        assertEquals(ids, catalog.snapshot().all().stream().map(Product::getId).collect(Collectors.toList()));
+        assertEquals("p7000000000", catalog.snapshot().get(7_000_000_000L).getName());
+    }
+
+    @Test
+    void skewedIdsAreSplitIntoRangesOfEqualRowCounts() {
+        // Half the rows are packed into 1..50, the other half spread up to five billion
+        List<Long> ids = new ArrayList<>();
+        for (long i = 1; i <= 50; i++) {
+            ids.add(i);
+            ids.add(i * 100_000_000L);
+        }
+        for (Long id : ids) {
+            jdbcTemplate.update("INSERT INTO products VALUES (?, ?)", id, "p" + id);
+        }
+        ReflectionTestUtils.setField(catalog, "loadThreads", 4);
+
+        List<long[]> ranges = ReflectionTestUtils.invokeMethod(catalog, "idRanges", 4);
+        assertEquals(4, ranges.size());
+        for (long[] range : ranges) {
+            long rows = ids.stream().filter(id -> id >= range[0] && id <= range[1]).count();
+            assertTrue(rows >= 24 && rows <= 26, rows + " rows in range");
+        }
+
+        catalog.load(ROW_MAPPER);
+        assertEquals(ids.stream().sorted().collect(Collectors.toList()),
+            catalog.snapshot().all().stream().map(Product::getId).collect(Collectors.toList()));
+    }
+
+    @Test
+    void anEmptyTableLoadsAnEmptySnapshot() {
+        catalog.load(ROW_MAPPER);
+
+        assertEquals(0, catalog.snapshot().size());
+    }
+
+    @Test
+    void publishedUpsertsAreCopiesOfTheCallersProduct() {
+        catalog.load(ROW_MAPPER);
+        Product product = new Product();
+        product.setId(9L);
+        product.setName("before");
+
+        catalog.publishUpsert(product);
+        product.setName("after");
+
+        assertEquals("before", catalog.snapshot().get(9).getName());
+    }
+}
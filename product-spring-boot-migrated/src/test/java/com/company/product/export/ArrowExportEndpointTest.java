@@ -0,0 +1,55 @@
+package com.company.product.export;
+
+import org.apache.arrow.memory.BufferAllocator;
+import org.apache.arrow.memory.RootAllocator;
+import org.apache.arrow.vector.ipc.ArrowStreamReader;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.io.ByteArrayInputStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * GET /products/export.arrow through the MVC stack, streamed asynchronously.
+ */
+@SpringBootTest(properties = "app.arrow.enabled=true")
+@AutoConfigureMockMvc
+class ArrowExportEndpointTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    void exportStreamsTheProductsTable() throws Exception {
+        MvcResult started = mockMvc.perform(get("/products/export.arrow"))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+
+        byte[] body = mockMvc.perform(asyncDispatch(started))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(ArrowTableExporter.MEDIA_TYPE))
+            .andExpect(header().string("Content-Disposition", "attachment; filename=\"products.arrow\""))
+            .andReturn().getResponse().getContentAsByteArray();
+
+        long rows = 0;
+        try (BufferAllocator allocator = new RootAllocator();
+             ArrowStreamReader reader = new ArrowStreamReader(new ByteArrayInputStream(body), allocator)) {
+            while (reader.loadNextBatch()) {
+                rows += reader.getVectorSchemaRoot().getRowCount();
+            }
+        }
+        // The five products of schema.sql
+        assertEquals(5, rows);
+    }
+}
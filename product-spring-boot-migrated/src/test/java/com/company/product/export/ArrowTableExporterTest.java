@@ -0,0 +1,110 @@
+package com.company.product.export;
+
+import org.apache.arrow.memory.BufferAllocator;
+import org.apache.arrow.memory.RootAllocator;
+import org.apache.arrow.vector.BigIntVector;
+import org.apache.arrow.vector.DecimalVector;
+import org.apache.arrow.vector.VarCharVector;
+import org.apache.arrow.vector.VectorSchemaRoot;
+import org.apache.arrow.vector.ipc.ArrowStreamReader;
+import org.apache.arrow.vector.types.pojo.Field;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Arrow export of an H2 table: batching, values, nulls and released memory.
+ */
+class ArrowTableExporterTest {
+
+    private static final int ROWS = 2500;
+    private static final int BATCH_SIZE = 1000;
+
+    private static final List<ArrowColumn> COLUMNS = List.of(
+        ArrowColumn.int64("id", "id"),
+        ArrowColumn.utf8("name", "name"),
+        ArrowColumn.decimal("price", "price", 10, 2),
+        ArrowColumn.bool("active", "active"),
+        ArrowColumn.timestamp("created_date", "createdDate"));
+
+    private SingleConnectionDataSource dataSource;
+    private JdbcTemplate jdbcTemplate;
+    private ArrowTableExporter exporter;
+
+    @BeforeEach
+    void setUp() {
+        dataSource = new SingleConnectionDataSource("jdbc:h2:mem:" + UUID.randomUUID(), "sa", "", true);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("CREATE TABLE products (id BIGINT PRIMARY KEY, name VARCHAR(100), price DECIMAL(10,2), "
+            + "active BOOLEAN, created_date TIMESTAMP DEFAULT CURRENT_TIMESTAMP)");
+        List<Object[]> rows = new ArrayList<>();
+        for (long id = 1; id <= ROWS; id++) {
+            // Every tenth row has no name, to check nulls survive the export
+            rows.add(new Object[] {id, id % 10 == 0 ? null : "Product " + id, new BigDecimal(id + ".50"), id % 2 == 0});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO products (id, name, price, active) VALUES (?, ?, ?, ?)", rows);
+        exporter = new ArrowTableExporter(BATCH_SIZE, 64L << 20);
+    }
+
+    @AfterEach
+    void tearDown() {
+        exporter.destroy();
+        dataSource.destroy();
+    }
+
+    @Test
+    void tableIsStreamedInFixedSizeBatches() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        assertEquals(ROWS, exporter.export(List.of(jdbcTemplate), "products", COLUMNS, out));
+
+        List<Integer> batchSizes = new ArrayList<>();
+        long expectedId = 1;
+        try (BufferAllocator allocator = new RootAllocator();
+             ArrowStreamReader reader = new ArrowStreamReader(new ByteArrayInputStream(out.toByteArray()), allocator)) {
+            VectorSchemaRoot root = reader.getVectorSchemaRoot();
+            assertEquals(List.of("id", "name", "price", "active", "createdDate"),
+                root.getSchema().getFields().stream().map(Field::getName).collect(Collectors.toList()));
+
+            while (reader.loadNextBatch()) {
+                batchSizes.add(root.getRowCount());
+                BigIntVector ids = (BigIntVector) root.getVector("id");
+                VarCharVector names = (VarCharVector) root.getVector("name");
+                DecimalVector prices = (DecimalVector) root.getVector("price");
+                for (int row = 0; row < root.getRowCount(); row++, expectedId++) {
+                    assertEquals(expectedId, ids.get(row));
+                    if (expectedId % 10 == 0) {
+                        assertNull(names.getObject(row));
+                    } else {
+                        assertEquals("Product " + expectedId, names.getObject(row).toString());
+                    }
+                    assertEquals(new BigDecimal(expectedId + ".50"), prices.getObject(row));
+                }
+            }
+        }
+        assertEquals(List.of(1000, 1000, 500), batchSizes);
+
+        // Every batch's buffers have been handed back
+        assertEquals(0, exporter.allocator().getAllocatedMemory());
+    }
+
+    @Test
+    void sourcesAreConcatenated() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        assertEquals(2L * ROWS, exporter.export(List.of(jdbcTemplate, jdbcTemplate), "products", COLUMNS, out));
+        assertTrue(out.size() > 0);
+    }
+}
@@ -0,0 +1,153 @@
+package com.company.product.idempotency;
+
+import com.company.product.exception.IdempotencyConflictException;
+import com.company.product.model.Product;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Replay, in-flight waiting, failure handling and eviction of Idempotency-Key responses.
+ */
+class IdempotencyStoreTest {
+
+    private SimpleMeterRegistry registry;
+    private IdempotencyStore store;
+    private final AtomicInteger calls = new AtomicInteger();
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        store = new IdempotencyStore(new ObjectMapper(), registry, Duration.ofMinutes(5), 1 << 20, Duration.ofSeconds(5));
+    }
+
+    @Test
+    void retriesReplayTheFirstResponse() {
+        Product body = product("Desk");
+        ResponseEntity<Product> first = store.execute("POST /products", "k1", body, () -> created(body));
+        ResponseEntity<Product> retry = store.execute("POST /products", "k1", body, () -> created(body));
+
+        assertSame(first, retry);
+        assertEquals(1, calls.get());
+        assertEquals(1.0, outcome("replayed"));
+    }
+
+    @Test
+    void keysAreScopedByMethodAndPath() {
+        Product body = product("Desk");
+        store.execute("PUT /products/1", "k1", body, () -> created(body));
+        store.execute("PUT /products/2", "k1", body, () -> created(body));
+        assertEquals(2, calls.get());
+    }
+
+    @Test
+    void reusingAKeyForAnotherBodyIsRejected() {
+        store.execute("POST /products", "k1", product("Desk"), () -> created(product("Desk")));
+        assertThrows(IdempotencyConflictException.class,
+            () -> store.execute("POST /products", "k1", product("Chair"), () -> created(product("Chair"))));
+        assertEquals(1.0, outcome("rejected"));
+    }
+
+    @Test
+    void duplicatesWaitForTheRequestInFlight() throws Exception {
+        Product body = product("Desk");
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        CompletableFuture<ResponseEntity<Product>> original = CompletableFuture.supplyAsync(() ->
+            store.execute("POST /products", "k1", body, () -> {
+                started.countDown();
+                await(release);
+                return created(body);
+            }));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+
+        CompletableFuture<ResponseEntity<Product>> duplicate = CompletableFuture.supplyAsync(() ->
+            store.execute("POST /products", "k1", body, () -> created(body)));
+        release.countDown();
+
+        assertSame(original.get(5, TimeUnit.SECONDS), duplicate.get(5, TimeUnit.SECONDS));
+        assertEquals(1, calls.get());
+    }
+
+    @Test
+    void failedCallsAreNotStored() {
+        Product body = product("Desk");
+        assertThrows(IllegalStateException.class, () -> store.execute("POST /products", "k1", body, () -> {
+            throw new IllegalStateException("database down");
+        }));
+        store.execute("POST /products", "k1", body, () -> created(body));
+        assertEquals(1, calls.get());
+    }
+
+    @Test
+    void oldestResponsesAreEvictedPastTheMemoryCap() {
+        store = new IdempotencyStore(new ObjectMapper(), new SimpleMeterRegistry(), Duration.ofMinutes(5), 4096, Duration.ofSeconds(5));
+        for (int i = 0; i < 100; i++) {
+            Product body = product("Desk " + i);
+            store.execute("POST /products", "k" + i, body, () -> created(body));
+        }
+        assertTrue(store.size() < 100, "store kept " + store.size() + " entries");
+
+        // The most recent key is still replayed
+        Product last = product("Desk 99");
+        store.execute("POST /products", "k99", last, () -> created(last));
+        assertEquals(100, calls.get());
+    }
+
+    @Test
+    void theMemoryCapBoundsTheStoredResponsesNotTheRequests() {
+        SimpleMeterRegistry meters = new SimpleMeterRegistry();
+        store = new IdempotencyStore(new ObjectMapper(), meters, Duration.ofMinutes(5), 4096, Duration.ofSeconds(5));
+        String report = "x".repeat(3000);
+        for (int i = 0; i < 10; i++) {
+            Product body = product("Desk " + i);
+            store.execute("POST /products", "k" + i, body, () -> ResponseEntity.ok(report));
+        }
+        // Each small request stored a 3 KB response, so only the latest fits
+        assertEquals(1, store.size());
+        assertTrue(meters.get("idempotency.store.bytes").gauge().value() <= 4096);
+    }
+
+    private ResponseEntity<Product> created(Product body) {
+        calls.incrementAndGet();
+        return new ResponseEntity<>(body, HttpStatus.CREATED);
+    }
+
+    private double outcome(String outcome) {
+        return registry.get("idempotency.requests").tag("outcome", outcome).counter().count();
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static Product product(String name) {
+        Product product = new Product();
+        product.setName(name);
+        product.setDescription("Oak " + name);
+        product.setPrice(199.0);
+        product.setCategory("Furniture");
+        product.setStock(5L);
+        product.setActive(true);
+        return product;
+    }
+}
@@ -0,0 +1,98 @@
+package com.company.product.search;
+
+import com.company.product.model.Product;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Multi-term AND queries, ranking and incremental maintenance of the inverted index.
+ */
+class ProductSearchIndexTest {
+
+    private ProductSearchIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new ProductSearchIndex();
+        index.rebuild(List.of(
+            product(1L, "Wireless Mouse", "Ergonomic wireless mouse"),
+            product(2L, "Office Chair", "Comfortable ergonomic office chair"),
+            product(3L, "Gaming Mouse", "Wired mouse with RGB"),
+            product(4L, "Mouse Pad", "Large pad for any wireless or wired mouse")));
+    }
+
+    @Test
+    void everyTermMustMatch() {
+        assertEquals(List.of(1L, 4L), index.search("wireless mouse", 10));
+        assertEquals(List.of(2L), index.search("ERGONOMIC chair", 10));
+    }
+
+    @Test
+    void aMissingTermMatchesNothing() {
+        assertEquals(List.of(), index.search("mouse keyboard", 10));
+        assertEquals(List.of(), index.search("  ", 10));
+    }
+
+    @Test
+    void nameHitsOutrankDescriptionHitsAndTiesGoToTheLowerId() {
+        // 1, 3 and 4 all carry "mouse" in name and description, so they tie on score
+        assertEquals(List.of(1L, 4L), index.search("wireless", 10));
+        assertEquals(List.of(1L, 3L, 4L), index.search("mouse", 10));
+        assertEquals(List.of(1L, 3L), index.search("mouse", 2));
+    }
+
+    @Test
+    void reindexingReplacesTheOldTerms() {
+        index.index(product(3L, "Gaming Keyboard", "Mechanical keyboard"));
+
+        assertEquals(List.of(3L), index.search("keyboard", 10));
+        assertEquals(List.of(), index.search("gaming mouse", 10));
+        assertEquals(List.of(1L, 4L), index.search("mouse", 10));
+        assertEquals(4, index.size());
+    }
+
+    @Test
+    void removedProductsDropOutOfEveryPostingList() {
+        index.remove(1L);
+        index.remove(99L);
+
+        assertEquals(List.of(4L), index.search("wireless", 10));
+        assertEquals(List.of(3L, 4L), index.search("mouse", 10));
+        assertEquals(3, index.size());
+    }
+
+    @Test
+    void postingListsStaySortedWhenIdsArriveOutOfOrder() {
+        List<Product> products = new ArrayList<>();
+        for (long id = 100; id > 0; id--) {
+            products.add(product(id, "Widget " + (id % 2 == 0 ? "even" : "odd"), "widget"));
+        }
+        index.rebuild(products);
+        index.index(product(150L, "Widget even", "widget"));
+        index.index(product(0L, "Widget even", "widget"));
+
+        List<Long> even = index.search("widget even", 100);
+        assertEquals(52, even.size());
+        assertEquals(0L, even.get(0));
+        assertEquals(2L, even.get(1));
+        assertEquals(150L, even.get(51));
+    }
+
+    @Test
+    void tokenizationSplitsOnNonAlphanumerics() {
+        assertEquals(List.of("usb", "c", "hub", "7", "in", "1"), ProductSearchIndex.tokenize("USB-C Hub (7-in-1)"));
+    }
+
+    private static Product product(Long id, String name, String description) {
+        Product product = new Product();
+        product.setId(id);
+        product.setName(name);
+        product.setDescription(description);
+        return product;
+    }
+}
@@ -0,0 +1,138 @@
+package com.company.product.service;
+
+import com.company.product.cache.JsonRowCache;
+import com.company.product.catalog.ProductCatalog;
+import com.company.product.model.Product;
+import com.company.product.search.ProductSearchIndex;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+/**
+ * Product writes reach the JSON cache, catalog snapshot and search index only after they commit.
+ */
+class AfterCommitPublishTest {
+
+    private SingleConnectionDataSource dataSource;
+    private TransactionTemplate transactions;
+    private JsonRowCache cache;
+    private ProductCatalog catalog;
+    private ProductSearchIndex searchIndex;
+    private ProductService service;
+
+    @BeforeEach
+    void setUp() {
+        dataSource = new SingleConnectionDataSource("jdbc:h2:mem:" + UUID.randomUUID(), "sa", "", true);
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("CREATE TABLE products (id BIGINT PRIMARY KEY, name VARCHAR(100), description VARCHAR(500), "
+            + "price DECIMAL(10,2), category VARCHAR(100), stock INT, active BOOLEAN)");
+        Product desk = product(1L, "Desk");
+        jdbcTemplate.update("INSERT INTO products VALUES (1, 'Desk', 'Oak Desk', 199.0, 'Furniture', 5, TRUE)");
+        transactions = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+
+        cache = new JsonRowCache(new ObjectMapper(), 1 << 20);
+        catalog = new ProductCatalog();
+        catalog.load(List.of(desk));
+        searchIndex = new ProductSearchIndex();
+        searchIndex.rebuild(List.of(desk));
+
+        service = new ProductService();
+        ReflectionTestUtils.setField(service, "jdbcTemplate", jdbcTemplate);
+        ReflectionTestUtils.setField(service, "jsonRowCache", cache);
+        ReflectionTestUtils.setField(service, "productCatalog", catalog);
+        ReflectionTestUtils.setField(service, "searchIndex", searchIndex);
+    }
+
+    @AfterEach
+    void tearDown() {
+        dataSource.destroy();
+    }
+
+    @Test
+    void updatesArePublishedOnceCommitted() {
+        long before = cache.version();
+        transactions.executeWithoutResult(status -> {
+            service.updateProduct(1L, product(null, "Table"));
+            assertEquals(before, cache.version());
+            assertEquals("Desk", catalog.snapshot().get(1L).getName());
+            assertEquals(List.of(), searchIndex.search("table", 10));
+        });
+        assertEquals(before + 1, cache.version());
+        assertEquals("Table", catalog.snapshot().get(1L).getName());
+        assertEquals(List.of(1L), searchIndex.search("table", 10));
+    }
+
+    @Test
+    void rolledBackWritesAreNeverPublished() {
+        long before = cache.version();
+        transactions.executeWithoutResult(status -> {
+            service.updateProduct(1L, product(null, "Table"));
+            status.setRollbackOnly();
+        });
+        transactions.executeWithoutResult(status -> {
+            service.deleteProduct(1L);
+            status.setRollbackOnly();
+        });
+        assertEquals(before, cache.version());
+        assertEquals("Desk", catalog.snapshot().get(1L).getName());
+        assertEquals(List.of(1L), searchIndex.search("desk", 10));
+    }
+
+    @Test
+    void committedDeletesLeaveEveryView() {
+        transactions.executeWithoutResult(status -> service.deleteProduct(1L));
+        assertNull(catalog.snapshot().get(1L));
+        assertEquals(List.of(), searchIndex.search("desk", 10));
+    }
+
+    @Test
+    void callbacksRunningOutOfCommitOrderStillPublishTheLastCommit() {
+        List<TransactionSynchronization> first = writeWithDeferredCallbacks(() -> service.updateProduct(1L, product(null, "Table")));
+        List<TransactionSynchronization> second = writeWithDeferredCallbacks(() -> service.updateProduct(1L, product(null, "Bench")));
+
+        // The later commit's callbacks run first
+        second.forEach(TransactionSynchronization::afterCommit);
+        first.forEach(TransactionSynchronization::afterCommit);
+
+        assertEquals("Bench", catalog.snapshot().get(1L).getName());
+        assertEquals(List.of(1L), searchIndex.search("bench", 10));
+        assertEquals(List.of(), searchIndex.search("table", 10));
+    }
+
+    // Run an auto-committed write and return the after-commit callbacks it registered, not yet run
+    private static List<TransactionSynchronization> writeWithDeferredCallbacks(Runnable write) {
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            write.run();
+            return TransactionSynchronizationManager.getSynchronizations();
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    private static Product product(Long id, String name) {
+        Product product = new Product();
+        product.setId(id);
+        product.setName(name);
+        product.setDescription("Oak " + name);
+        product.setPrice(199.0);
+        product.setCategory("Furniture");
+        product.setStock(5L);
+        product.setActive(true);
+        return product;
+    }
+}
@@ -0,0 +1,74 @@
+package com.company.product.service;
+
+import com.company.product.exception.InvalidRequestException;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Whitelisting, SELECT list generation and row mapping of ?fields= projections.
+ */
+class FieldProjectionTest {
+
+    private static final Map<String, String> WHITELIST = Map.of(
+        "id", "id",
+        "price", "price",
+        "launchDate", "launch_date",
+        "createdDate", "created_date");
+
+    @Test
+    void requestedFieldsMapToTheirColumnsInRequestOrderWithoutDuplicates() {
+        FieldProjection projection = FieldProjection.parse(" createdDate, id,,price ,id", WHITELIST);
+
+        assertEquals("created_date, id, price", projection.selectList());
+    }
+
+    @Test
+    void unknownFieldsAreRejectedBeforeReachingSql() {
+        InvalidRequestException error = assertThrows(InvalidRequestException.class,
+            () -> FieldProjection.parse("id,price;DROP TABLE products", WHITELIST));
+        assertEquals("Unknown field: price;DROP TABLE products", error.getMessage());
+    }
+
+    @Test
+    void emptyListsMeanNoProjection() {
+        assertNull(FieldProjection.parse(null, WHITELIST));
+        assertNull(FieldProjection.parse(" ", WHITELIST));
+        assertNull(FieldProjection.parse(" , ,", WHITELIST));
+    }
+
+    @Test
+    void rowsHoldOnlyTheRequestedFieldsWithJavaTimeValues() {
+        SingleConnectionDataSource dataSource = new SingleConnectionDataSource("jdbc:h2:mem:" + UUID.randomUUID(), "sa", "", true);
+        try {
+            JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+            jdbcTemplate.execute("CREATE TABLE items (id BIGINT, price DECIMAL(10,2), launch_date DATE, created_date TIMESTAMP)");
+            jdbcTemplate.update("INSERT INTO items VALUES (7, 9.50, DATE '2024-02-29', TIMESTAMP '2024-03-01 12:30:00')");
+
+            FieldProjection projection = FieldProjection.parse("createdDate,launchDate,price", WHITELIST);
+            List<Map<String, Object>> rows = jdbcTemplate.query(
+                "SELECT " + projection.selectList() + " FROM items", projection.rowMapper());
+
+            Map<String, Object> expected = new LinkedHashMap<>();
+            expected.put("createdDate", LocalDateTime.of(2024, 3, 1, 12, 30));
+            expected.put("launchDate", LocalDate.of(2024, 2, 29));
+            expected.put("price", new BigDecimal("9.50"));
+            assertEquals(List.of(expected), rows);
+            assertEquals(List.of("createdDate", "launchDate", "price"), List.copyOf(rows.get(0).keySet()));
+        } finally {
+            dataSource.destroy();
+        }
+    }
+}
@@ -0,0 +1,206 @@
+package com.company.product.shard;
+
+import com.company.product.model.Product;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.BeanPropertyRowMapper;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.servlet.HandlerMapping;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Distribution, routing, scatter-gather, k-way merge and shard-local transactions
+ * over three in-memory H2 shards.
+ */
+class ShardedProductStoreTest {
+
+    private static final int SHARDS = 3;
+    private static final int PRODUCTS = 300;
+
+    private static final RowMapper<Product> MAPPER = new BeanPropertyRowMapper<>(Product.class);
+    private static final Comparator<Product> BY_ID = Comparator.comparing(Product::getId);
+
+    private static final LocalDateTime CREATED = LocalDateTime.of(2020, 1, 2, 3, 4, 5);
+
+    private final List<SingleConnectionDataSource> dataSources = new ArrayList<>();
+    private JdbcTemplate primary;
+    private ShardedProductStore store;
+
+    @BeforeEach
+    void setUp() {
+        // Each in-memory database lives as long as its single connection
+        SingleConnectionDataSource primaryDataSource = database();
+        primary = new JdbcTemplate(primaryDataSource);
+        new ResourceDatabasePopulator(new ClassPathResource("schema-shard.sql")).execute(primaryDataSource);
+        for (long id = 1; id <= PRODUCTS; id++) {
+            Product product = product(id);
+            primary.update("INSERT INTO products VALUES (?, ?, ?, ?, ?, ?, ?, ?)", product.getId(), product.getName(),
+                product.getDescription(), product.getPrice(), product.getCategory(), product.getStock(),
+                product.getActive(), Timestamp.valueOf(CREATED.plusMinutes(id)));
+        }
+
+        List<DataSource> shards = new ArrayList<>();
+        for (int i = 0; i < SHARDS; i++) {
+            shards.add(database());
+        }
+        store = new ShardedProductStore(shards, SHARDS);
+        store.initializeSchema(new ClassPathResource("schema-shard.sql"));
+        assertEquals(PRODUCTS, store.copyFrom(primary, 17));
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        store.destroy();
+        dataSources.forEach(SingleConnectionDataSource::destroy);
+    }
+
+    private SingleConnectionDataSource database() {
+        SingleConnectionDataSource dataSource =
+            new SingleConnectionDataSource("jdbc:h2:mem:" + UUID.randomUUID(), "sa", "", true);
+        dataSources.add(dataSource);
+        return dataSource;
+    }
+
+    @Test
+    void copiedRowsKeepEveryColumn() {
+        for (long id = 1; id <= PRODUCTS; id++) {
+            Timestamp created = store.forId(id).queryForObject(
+                "SELECT created_date FROM products WHERE id = ?", Timestamp.class, id);
+            assertEquals(CREATED.plusMinutes(id), created.toLocalDateTime());
+        }
+    }
+
+    @Test
+    void rowsAreSpreadOverEveryShard() {
+        assertEquals(PRODUCTS, store.count());
+        for (int i = 0; i < SHARDS; i++) {
+            long rows = store.forShard(i).queryForObject("SELECT COUNT(*) FROM products", Long.class);
+            // Sequential ids must not pile up on one shard
+            assertTrue(rows > PRODUCTS / SHARDS / 2, "shard " + i + " holds only " + rows + " rows");
+        }
+    }
+
+    @Test
+    void pointReadsGoToTheOwningShard() {
+        for (long id = 1; id <= PRODUCTS; id++) {
+            Product product = store.forId(id).queryForObject("SELECT * FROM products WHERE id = ?", MAPPER, id);
+            assertEquals("Product " + id, product.getName());
+        }
+    }
+
+    @Test
+    void orderedQueriesAreMergedInOrder() {
+        List<Product> all = store.queryAllOrdered("SELECT * FROM products ORDER BY id", MAPPER, BY_ID, 0);
+        assertEquals(PRODUCTS, all.size());
+        for (int i = 0; i < all.size(); i++) {
+            assertEquals(i + 1L, all.get(i).getId());
+        }
+    }
+
+    @Test
+    void keysetPagesWalkTheWholeTable() {
+        String sql = "SELECT * FROM products WHERE id > ? ORDER BY id LIMIT ?";
+        int limit = 17;
+        long afterId = 0;
+        long expected = 1;
+        while (true) {
+            List<Product> page = store.queryAllOrdered(sql, MAPPER, BY_ID, limit, afterId, limit);
+            if (page.isEmpty()) {
+                break;
+            }
+            assertTrue(page.size() <= limit);
+            for (Product product : page) {
+                assertEquals(expected++, product.getId());
+            }
+            afterId = page.get(page.size() - 1).getId();
+        }
+        assertEquals(PRODUCTS + 1L, expected);
+    }
+
+    @Test
+    void shardTransactionsCommitOrRollBackTheirWork() {
+        long id = 42;
+        String update = "UPDATE products SET name = ? WHERE id = ?";
+
+        store.inTransaction(id, () -> store.forId(id).update(update, "Renamed", id));
+        assertEquals("Renamed", name(id));
+
+        assertThrows(IllegalStateException.class, () -> store.inTransaction(id, () -> {
+            store.forId(id).update(update, "Lost", id);
+            throw new IllegalStateException("failed after the shard write");
+        }));
+        assertEquals("Renamed", name(id));
+    }
+
+    @Test
+    void everyShardQueryIsRecordedUnderTheCallersRoute(@TempDir Path directory) throws IOException {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/products");
+        request.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/products");
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+        Path file = directory.resolve("queries.jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable("com.company.api.Query").withoutThreshold();
+            recording.start();
+            store.count();
+            store.queryAllOrdered("SELECT * FROM products ORDER BY id", MAPPER, BY_ID, 0);
+            recording.stop();
+            recording.dump(file);
+        } finally {
+            RequestContextHolder.resetRequestAttributes();
+        }
+
+        List<RecordedEvent> events = RecordingFile.readAllEvents(file);
+        assertEquals(2 * SHARDS, events.size());
+        assertEquals(List.of("GET /products"), events.stream().map(e -> e.getString("route")).distinct().collect(Collectors.toList()));
+        assertEquals(SHARDS + PRODUCTS, events.stream().mapToLong(e -> e.getLong("rowCount")).sum());
+    }
+
+    @Test
+    void mergeBreaksTiesByShardAndHonoursLimit() {
+        List<List<Integer>> runs = List.of(List.of(1, 4, 4), List.of(2, 4), List.of());
+        assertEquals(List.of(1, 2, 4, 4), ShardedProductStore.merge(runs, Comparator.naturalOrder(), 4));
+        assertEquals(List.of(1, 2, 4, 4, 4), ShardedProductStore.merge(runs, Comparator.naturalOrder(), 0));
+    }
+
+    private String name(long id) {
+        return store.forId(id).queryForObject("SELECT name FROM products WHERE id = ?", String.class, id);
+    }
+
+    private static Product product(long id) {
+        Product product = new Product();
+        product.setId(id);
+        product.setName("Product " + id);
+        product.setDescription("Description " + id);
+        product.setPrice(10.0 + id);
+        product.setCategory(id % 2 == 0 ? "Electronics" : "Furniture");
+        product.setStock(id);
+        product.setActive(id % 3 != 0);
+        return product;
+    }
+}
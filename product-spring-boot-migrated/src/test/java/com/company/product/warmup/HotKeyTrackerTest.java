@@ -0,0 +1,91 @@
+package com.company.product.warmup;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tracking cap, list length, concurrent counting and replacement of the saved hot key list.
+ */
+class HotKeyTrackerTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void idsPastTheTrackingCapAreIgnored() {
+        // Two keys means up to twenty tracked ids
+        HotKeyTracker tracker = new HotKeyTracker(directory.resolve("hot.txt"), 2);
+        for (long id = 1; id <= 20; id++) {
+            tracker.record(id);
+        }
+        hit(tracker, 21L, 50);
+        hit(tracker, 5L, 2);
+
+        List<Long> hottest = tracker.hottest();
+        assertEquals(2, hottest.size());
+        assertEquals(5L, hottest.get(0));
+        assertFalse(hottest.contains(21L));
+    }
+
+    @Test
+    void loadStopsAtTheConfiguredNumberOfKeys() throws IOException {
+        Path file = directory.resolve("hot.txt");
+        Files.write(file, List.of("40", "", "41", "42", "43"), StandardCharsets.UTF_8);
+
+        assertEquals(List.of(40L, 41L, 42L), new HotKeyTracker(file, 3).load());
+    }
+
+    @Test
+    void concurrentHitsAreAllCounted() throws InterruptedException {
+        HotKeyTracker tracker = new HotKeyTracker(directory.resolve("hot.txt"), 10);
+        ExecutorService pool = Executors.newFixedThreadPool(4);
+        for (int thread = 0; thread < 4; thread++) {
+            pool.execute(() -> {
+                hit(tracker, 1L, 1000);
+                hit(tracker, 2L, 999);
+            });
+        }
+        pool.shutdown();
+        assertTrue(pool.awaitTermination(10, TimeUnit.SECONDS));
+
+        assertEquals(List.of(1L, 2L), tracker.hottest());
+    }
+
+    @Test
+    void savingReplacesThePreviousListAndCreatesItsDirectory() throws IOException {
+        Path file = directory.resolve("data").resolve("hot-products.txt");
+        HotKeyTracker first = new HotKeyTracker(file, 10);
+        hit(first, 1L, 2);
+        first.save();
+
+        HotKeyTracker second = new HotKeyTracker(file, 10);
+        hit(second, 8L, 1);
+        second.save();
+
+        assertEquals(List.of("8"), Files.readAllLines(file, StandardCharsets.UTF_8));
+        try (Stream<Path> files = Files.list(file.getParent())) {
+            assertEquals(List.of(file), files.collect(Collectors.toList()));
+        }
+    }
+
+    private static void hit(HotKeyTracker tracker, Long id, int times) {
+        for (int i = 0; i < times; i++) {
+            tracker.record(id);
+        }
+    }
+}